@@ -0,0 +1,476 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 TweetWallFX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.tweetwallfx.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Date;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import org.tweetwallfx.tweet.api.Tweet;
+import org.tweetwallfx.tweet.api.User;
+import org.tweetwallfx.tweet.api.entry.HashtagTweetEntry;
+import org.tweetwallfx.tweet.api.entry.MediaTweetEntry;
+import org.tweetwallfx.tweet.api.entry.MediaTweetEntryType;
+import org.tweetwallfx.tweet.api.entry.SymbolTweetEntry;
+import org.tweetwallfx.tweet.api.entry.UrlTweetEntry;
+import org.tweetwallfx.tweet.api.entry.UserMentionTweetEntry;
+
+/**
+ * Produces a reproducible corpus of synthetic {@link Tweet}s resembling what a
+ * conference wall receives: hashtags, user mentions, links, photos and emoji
+ * mixed into plain text.
+ */
+final class SyntheticTweets {
+
+    private static final String[] VOCABULARY = {
+        "java", "javafx", "keynote", "talk", "session", "slides", "demo", "great",
+        "amazing", "learned", "today", "conference", "speaker", "room", "coffee",
+        "lunch", "community", "opensource", "performance", "records", "patterns",
+        "virtual", "threads", "graalvm", "native", "cloud", "kubernetes", "testing",
+        "the", "and", "with", "for", "this", "that", "from", "about", "really",
+        "awesome", "streams", "memory", "garbage", "collector", "latency", "loom",
+        "valhalla", "panama", "amber", "modules", "gradle", "maven", "spring",
+        "quarkus", "micronaut", "helidon", "jakarta", "kotlin", "scala", "clojure",
+        "Don't", "it's", "(live)", "\"quote\"", "end.", "wow!", "why?", "now:"
+    };
+    private static final String[] HASHTAGS = {
+        "#Devoxx", "#Java", "#JavaFX", "#TweetWallFX", "#OpenJDK", "#JUG", "#Loom", "#DevoxxBE"
+    };
+    private static final String[] HANDLES = {
+        "@duke", "@openjdk", "@javafx", "@devoxx", "@speaker42", "@jugleader", "@tweetwallfx"
+    };
+    private static final String[] EMOJI = {
+        "😀", "🎉", "👍", "🔥", "☕", "🚀", "❤️", "👏🏽"
+    };
+
+    private SyntheticTweets() {
+        // prevent instantiation
+    }
+
+    /**
+     * Creates {@code count} tweets with a fixed {@code seed} so that runs of a
+     * benchmark are comparable with each other.
+     *
+     * @param count the number of tweets to create
+     *
+     * @param seed the seed of the pseudo random generator
+     *
+     * @return the created tweets
+     */
+    static List<Tweet> create(final int count, final long seed) {
+        final Random random = new Random(seed);
+        final List<Tweet> tweets = new ArrayList<>(count);
+        final long now = System.currentTimeMillis();
+
+        for (int i = 0; i < count; i++) {
+            tweets.add(createTweet(random, i, new Date(now - random.nextInt(3 * 24 * 3600) * 1000L)));
+        }
+
+        return tweets;
+    }
+
+    /**
+     * Creates {@code count} texts of words and emoji without any entities.
+     *
+     * @param count the number of texts to create
+     *
+     * @param seed the seed of the pseudo random generator
+     *
+     * @return the created texts
+     */
+    static List<String> createTexts(final int count, final long seed) {
+        final Random random = new Random(seed);
+        final List<String> texts = new ArrayList<>(count);
+
+        for (int i = 0; i < count; i++) {
+            final StringBuilder sb = new StringBuilder();
+            final int words = 8 + random.nextInt(20);
+
+            for (int w = 0; w < words; w++) {
+                if (0 < sb.length()) {
+                    sb.append(' ');
+                }
+                sb.append(0 == random.nextInt(5)
+                        ? EMOJI[random.nextInt(EMOJI.length)]
+                        : VOCABULARY[random.nextInt(VOCABULARY.length)]);
+            }
+
+            texts.add(sb.toString());
+        }
+
+        return texts;
+    }
+
+    private static Tweet createTweet(final Random random, final long id, final Date createdAt) {
+        final StringBuilder sb = new StringBuilder();
+        final List<HashtagTweetEntry> hashtags = new ArrayList<>();
+        final List<UserMentionTweetEntry> mentions = new ArrayList<>();
+        final List<UrlTweetEntry> urls = new ArrayList<>();
+        final List<MediaTweetEntry> medias = new ArrayList<>();
+        final int words = 6 + random.nextInt(30);
+
+        if (0 == random.nextInt(4)) {
+            sb.append("RT ");
+        }
+
+        for (int w = 0; w < words; w++) {
+            if (0 < sb.length()) {
+                sb.append(' ');
+            }
+
+            final int start = sb.length();
+            final int kind = random.nextInt(20);
+
+            if (kind < 2) {
+                final String hashtag = HASHTAGS[random.nextInt(HASHTAGS.length)];
+                sb.append(hashtag);
+                hashtags.add(new Hashtag(hashtag.substring(1), start, sb.length()));
+            } else if (kind < 4) {
+                final String handle = HANDLES[random.nextInt(HANDLES.length)];
+                sb.append(handle);
+                mentions.add(new Mention(handle.substring(1), start, sb.length()));
+            } else if (kind < 5) {
+                sb.append(EMOJI[random.nextInt(EMOJI.length)]);
+            } else {
+                sb.append(VOCABULARY[random.nextInt(VOCABULARY.length)]);
+            }
+        }
+
+        if (0 == random.nextInt(3)) {
+            final String url = "https://t.co/" + Long.toString(random.nextLong() & Long.MAX_VALUE, 36);
+            sb.append(' ');
+            final int start = sb.length();
+            sb.append(url);
+            urls.add(new Url(url, start, sb.length()));
+        }
+
+        if (0 == random.nextInt(4)) {
+            final String url = "https://t.co/" + Long.toString(random.nextLong() & Long.MAX_VALUE, 36);
+            sb.append(' ');
+            final int start = sb.length();
+            sb.append(url);
+            medias.add(new Media(random.nextLong() & Long.MAX_VALUE, url, start, sb.length()));
+        }
+
+        final String handle = HANDLES[random.nextInt(HANDLES.length)];
+
+        return new SyntheticTweet(
+                id,
+                sb.toString(),
+                createdAt,
+                new SyntheticUser(random.nextInt(10_000), handle.substring(1), random.nextInt(5_000)),
+                hashtags.toArray(HashtagTweetEntry[]::new),
+                mentions.toArray(UserMentionTweetEntry[]::new),
+                urls.toArray(UrlTweetEntry[]::new),
+                medias.toArray(MediaTweetEntry[]::new));
+    }
+
+    private static final class SyntheticTweet implements Tweet {
+
+        private final long id;
+        private final String text;
+        private final Date createdAt;
+        private final User user;
+        private final HashtagTweetEntry[] hashtags;
+        private final UserMentionTweetEntry[] mentions;
+        private final UrlTweetEntry[] urls;
+        private final MediaTweetEntry[] medias;
+
+        SyntheticTweet(
+                final long id,
+                final String text,
+                final Date createdAt,
+                final User user,
+                final HashtagTweetEntry[] hashtags,
+                final UserMentionTweetEntry[] mentions,
+                final UrlTweetEntry[] urls,
+                final MediaTweetEntry[] medias) {
+            this.id = id;
+            this.text = text;
+            this.createdAt = new Date(createdAt.getTime());
+            this.user = user;
+            this.hashtags = hashtags;
+            this.mentions = mentions;
+            this.urls = urls;
+            this.medias = medias;
+        }
+
+        @Override
+        public Date getCreatedAt() {
+            return new Date(createdAt.getTime());
+        }
+
+        @Override
+        public int getFavoriteCount() {
+            return 0;
+        }
+
+        @Override
+        public long getId() {
+            return id;
+        }
+
+        @Override
+        public long getInReplyToTweetId() {
+            return -1;
+        }
+
+        @Override
+        public long getInReplyToUserId() {
+            return -1;
+        }
+
+        @Override
+        public String getInReplyToScreenName() {
+            return null;
+        }
+
+        @Override
+        public String getLang() {
+            return "en";
+        }
+
+        @Override
+        public int getRetweetCount() {
+            return 0;
+        }
+
+        @Override
+        public Tweet getRetweetedTweet() {
+            return null;
+        }
+
+        @Override
+        public Tweet getOriginTweet() {
+            return this;
+        }
+
+        @Override
+        public String getText() {
+            return text;
+        }
+
+        @Override
+        public User getUser() {
+            return user;
+        }
+
+        @Override
+        public boolean isRetweet() {
+            return false;
+        }
+
+        @Override
+        public boolean isTruncated() {
+            return false;
+        }
+
+        @Override
+        public HashtagTweetEntry[] getHashtagEntries() {
+            return hashtags.clone();
+        }
+
+        @Override
+        public MediaTweetEntry[] getMediaEntries() {
+            return medias.clone();
+        }
+
+        @Override
+        public SymbolTweetEntry[] getSymbolEntries() {
+            return new SymbolTweetEntry[0];
+        }
+
+        @Override
+        public UrlTweetEntry[] getUrlEntries() {
+            return urls.clone();
+        }
+
+        @Override
+        public UserMentionTweetEntry[] getUserMentionEntries() {
+            return mentions.clone();
+        }
+    }
+
+    private static final class SyntheticUser implements User {
+
+        private final long id;
+        private final String screenName;
+        private final int followersCount;
+
+        SyntheticUser(final long id, final String screenName, final int followersCount) {
+            this.id = id;
+            this.screenName = screenName;
+            this.followersCount = followersCount;
+        }
+
+        @Override
+        public String getBiggerProfileImageUrl() {
+            return "https://pbs.twimg.com/profile_images/" + id + "/avatar_bigger.png";
+        }
+
+        @Override
+        public long getId() {
+            return id;
+        }
+
+        @Override
+        public String getLang() {
+            return "en";
+        }
+
+        @Override
+        public String getName() {
+            return screenName;
+        }
+
+        @Override
+        public String getProfileImageUrl() {
+            return "https://pbs.twimg.com/profile_images/" + id + "/avatar_normal.png";
+        }
+
+        @Override
+        public String getScreenName() {
+            return screenName;
+        }
+
+        @Override
+        public int getFollowersCount() {
+            return followersCount;
+        }
+
+        @Override
+        public boolean isVerified() {
+            return false;
+        }
+    }
+
+    private abstract static class Entry {
+
+        private final String text;
+        private final int start;
+        private final int end;
+
+        Entry(final String text, final int start, final int end) {
+            this.text = text;
+            this.start = start;
+            this.end = end;
+        }
+
+        public String getText() {
+            return text;
+        }
+
+        public int getStart() {
+            return start;
+        }
+
+        public int getEnd() {
+            return end;
+        }
+    }
+
+    private static final class Hashtag extends Entry implements HashtagTweetEntry {
+
+        Hashtag(final String text, final int start, final int end) {
+            super(text, start, end);
+        }
+    }
+
+    private static final class Mention extends Entry implements UserMentionTweetEntry {
+
+        Mention(final String screenName, final int start, final int end) {
+            super(screenName, start, end);
+        }
+
+        @Override
+        public String getName() {
+            return getText();
+        }
+
+        @Override
+        public String getScreenName() {
+            return getText();
+        }
+
+        @Override
+        public long getId() {
+            return getText().hashCode();
+        }
+    }
+
+    private static final class Url extends Entry implements UrlTweetEntry {
+
+        Url(final String url, final int start, final int end) {
+            super(url, start, end);
+        }
+
+        @Override
+        public String getURL() {
+            return getText();
+        }
+
+        @Override
+        public String getExpandedURL() {
+            return "https://example.org/" + getText().substring(getText().lastIndexOf('/') + 1);
+        }
+
+        @Override
+        public String getDisplayURL() {
+            return getExpandedURL();
+        }
+    }
+
+    private static final class Media extends Entry implements MediaTweetEntry {
+
+        private final long id;
+
+        Media(final long id, final String url, final int start, final int end) {
+            super(url, start, end);
+            this.id = id;
+        }
+
+        @Override
+        public long getId() {
+            return id;
+        }
+
+        @Override
+        public String getMediaUrl() {
+            return "https://pbs.twimg.com/media/" + Long.toString(id, 36) + ".jpg";
+        }
+
+        @Override
+        public Map<Integer, Size> getSizes() {
+            return Map.of(
+                    Size.THUMB, MediaTweetEntry.createSize(150, 150, Size.CROP),
+                    Size.LARGE, MediaTweetEntry.createSize(2048, 1536, Size.FIT));
+        }
+
+        @Override
+        public MediaTweetEntryType getType() {
+            return MediaTweetEntryType.photo;
+        }
+    }
+}
@@ -0,0 +1,77 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 TweetWallFX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.tweetwallfx.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.tweetwallfx.controls.Word;
+import org.tweetwallfx.controls.dataprovider.TagCloudDataProvider;
+import org.tweetwallfx.stepengine.api.config.StepEngineSettings;
+import org.tweetwallfx.tweet.api.Tweet;
+
+/**
+ * Measures feeding tweets into a {@link TagCloudDataProvider} (its
+ * {@code updateTree}) and reading the ranked words back out of it.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+public class TagCloudDataProviderBenchmark {
+
+    private List<Tweet> tweets;
+    private TagCloudDataProvider dataProvider;
+    private int index;
+
+    @Setup(Level.Trial)
+    public void createCorpus() {
+        tweets = SyntheticTweets.create(10_000, 42L);
+    }
+
+    @Setup(Level.Iteration)
+    public void createDataProvider() {
+        dataProvider = new TagCloudDataProvider.FactoryImpl()
+                .create(new StepEngineSettings.DataProviderSetting());
+        tweets.forEach(dataProvider::processHistoryTweet);
+        index = 0;
+    }
+
+    @Benchmark
+    public void updateTree() {
+        dataProvider.processNewTweet(tweets.get(index));
+        index = (index + 1) % tweets.size();
+    }
+
+    @Benchmark
+    public List<Word> getWords() {
+        return dataProvider.getWords();
+    }
+}
@@ -0,0 +1,85 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 TweetWallFX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.tweetwallfx.benchmarks;
+
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.infra.Blackhole;
+import org.tweetwallfx.controls.dataprovider.TagCloudTokenizer;
+import org.tweetwallfx.tweet.StopList;
+import org.tweetwallfx.tweet.api.Tweet;
+import org.tweetwallfx.tweet.api.entry.MediaTweetEntry;
+import org.tweetwallfx.tweet.api.entry.UrlTweetEntry;
+import org.tweetwallfx.tweet.api.entry.UserMentionTweetEntry;
+
+/**
+ * Compares splitting the synthetic corpus into tag cloud words with the
+ * {@link TagCloudTokenizer} against the former pipeline of text extraction,
+ * regular expressions and stream operations.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class TagCloudTokenizerBenchmark {
+
+    private List<Tweet> tweets;
+
+    @Setup
+    public void setUp() {
+        tweets = SyntheticTweets.create(1_000, 42L);
+    }
+
+    @Benchmark
+    public void regexPipeline(final Blackhole blackhole) {
+        for (final Tweet tweet : tweets) {
+            blackhole.consume(StopList.WORD_SPLIT.splitAsStream(tweet.getTextWithout(UrlTweetEntry.class)
+                    .getTextWithout(MediaTweetEntry.class)
+                    .getTextWithout(UserMentionTweetEntry.class)
+                    .get()
+                    .replaceAll("[.,!?:´`']((\\s+)|($))", " ")
+                    .replaceAll("['“”‘’\"()]", " "))
+                    .filter(l -> l.length() > 2)
+                    .filter(StopList.IS_NOT_URL)
+                    .map(String::toLowerCase)
+                    .map(StopList::removeEmojis)
+                    .distinct()
+                    .filter(StopList::notIn)
+                    .toList());
+        }
+    }
+
+    @Benchmark
+    public void singlePass(final Blackhole blackhole) {
+        for (final Tweet tweet : tweets) {
+            blackhole.consume(TagCloudTokenizer.tokenize(tweet));
+        }
+    }
+}
@@ -0,0 +1,127 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 TweetWallFX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.tweetwallfx.benchmarks;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.Comparator;
+import java.util.Random;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Stream;
+import org.ehcache.Cache;
+import org.ehcache.PersistentCacheManager;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.CacheManagerBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.config.units.MemoryUnit;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Level;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.tweetwallfx.cache.URLContent;
+import org.tweetwallfx.cache.URLContentSerializer;
+
+/**
+ * Measures put and get of {@link URLContent} on a disk only ehcache cache
+ * using ehcache's default serializer and the {@link URLContentSerializer} for
+ * payloads the size of an emoji, an avatar and a large photo.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.Throughput)
+@OutputTimeUnit(TimeUnit.SECONDS)
+public class URLContentSerializerBenchmark {
+
+    private static final int KEYS = 16;
+
+    @Param({"4096", "65536", "4194304"})
+    public int size;
+
+    @Param({"java", "urlContent"})
+    public String serializer;
+
+    private Path directory;
+    private PersistentCacheManager cacheManager;
+    private Cache<String, URLContent> cache;
+    private URLContent content;
+    private int next;
+
+    @Setup(Level.Trial)
+    public void setUp() throws IOException {
+        final byte[] data = new byte[size];
+        new Random(42L).nextBytes(data);
+        content = URLContent.of(new ByteArrayInputStream(data));
+        directory = Files.createTempDirectory("tweetwallfx-benchmark");
+
+        CacheConfigurationBuilder<String, URLContent> builder = CacheConfigurationBuilder.newCacheConfigurationBuilder(
+                String.class,
+                URLContent.class,
+                ResourcePoolsBuilder.newResourcePoolsBuilder().disk(512, MemoryUnit.MB, false));
+        if ("urlContent".equals(serializer)) {
+            builder = builder.withValueSerializer(URLContentSerializer.class);
+        }
+
+        cacheManager = CacheManagerBuilder.newCacheManagerBuilder()
+                .with(CacheManagerBuilder.persistence(directory.toFile()))
+                .withCache("benchmark", builder)
+                .build(true);
+        cache = cacheManager.getCache("benchmark", String.class, URLContent.class);
+
+        for (int i = 0; i < KEYS; i++) {
+            cache.put(key(i), content);
+        }
+    }
+
+    @TearDown(Level.Trial)
+    public void tearDown() throws IOException {
+        cacheManager.close();
+
+        try (Stream<Path> paths = Files.walk(directory)) {
+            for (final Path path : paths.sorted(Comparator.reverseOrder()).toList()) {
+                Files.delete(path);
+            }
+        }
+    }
+
+    @Benchmark
+    public void put() {
+        cache.put(key(next++), content);
+    }
+
+    @Benchmark
+    public URLContent get() {
+        return cache.get(key(next++));
+    }
+
+    private static String key(final int index) {
+        return "https://example.org/image/" + Math.floorMod(index, KEYS);
+    }
+}
@@ -0,0 +1,98 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 TweetWallFX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.tweetwallfx.benchmarks;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+import javafx.geometry.BoundingBox;
+import javafx.scene.text.Font;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.tweetwallfx.controls.Word;
+import org.tweetwallfx.controls.WordleLayout;
+import org.tweetwallfx.controls.dataprovider.TagCloudDataProvider;
+import org.tweetwallfx.stepengine.api.config.StepEngineSettings;
+import org.tweetwallfx.tweet.api.Tweet;
+
+/**
+ * Measures the word cloud layout ({@code WordleLayout.calcTagLayout}) for the
+ * words a {@link TagCloudDataProvider} produces out of the synthetic corpus,
+ * padded with filler words for clouds larger than the provider delivers.
+ * {@link #updateTagLayout()} lays out the same words again starting from the
+ * previous layout, as is done on updates of the displayed cloud.
+ */
+@State(Scope.Benchmark)
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MILLISECONDS)
+public class WordleLayoutBenchmark {
+
+    @Param({"25", "50", "100", "200"})
+    public int wordCount;
+
+    private WordleLayout.Configuration configuration;
+    private WordleLayout previousLayout;
+
+    @Setup
+    public void setUp() {
+        JavaFxToolkit.ensureStarted();
+
+        final TagCloudDataProvider dataProvider = new TagCloudDataProvider.FactoryImpl()
+                .create(new StepEngineSettings.DataProviderSetting());
+        for (final Tweet tweet : SyntheticTweets.create(5_000, 42L)) {
+            dataProvider.processHistoryTweet(tweet);
+        }
+
+        final List<Word> words = new ArrayList<>(dataProvider.getWords());
+        for (int i = words.size(); i < wordCount; i++) {
+            words.add(new Word("filler" + i, 1));
+        }
+        words.sort(Comparator.reverseOrder());
+
+        configuration = new WordleLayout.Configuration(
+                words.subList(0, wordCount),
+                Font.font(36),
+                72,
+                new BoundingBox(0, 0, 1920, 1080));
+        configuration.setBlockedAreaBounds(new BoundingBox(0, 980, 300, 100));
+        previousLayout = WordleLayout.createWordleLayout(configuration);
+    }
+
+    @Benchmark
+    public WordleLayout calcTagLayout() {
+        return WordleLayout.createWordleLayout(configuration);
+    }
+
+    @Benchmark
+    public WordleLayout updateTagLayout() {
+        return WordleLayout.createWordleLayout(configuration, previousLayout);
+    }
+}
@@ -0,0 +1,442 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 TweetWallFX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.tweetwallfx.cache.fx;
+
+import java.io.IOException;
+import java.util.List;
+import java.util.Objects;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executor;
+import java.util.concurrent.LinkedBlockingQueue;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.stream.Collectors;
+import javafx.scene.image.Image;
+import javafx.scene.image.PixelFormat;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.tweetwallfx.cache.Cache;
+import org.tweetwallfx.cache.CacheManagerProvider;
+import org.tweetwallfx.cache.CacheSettings;
+import org.tweetwallfx.cache.ContentDigest;
+import org.tweetwallfx.cache.URLContent;
+import org.tweetwallfx.cache.URLContentCacheBase;
+import org.tweetwallfx.cache.WarmUpListener;
+import org.tweetwallfx.cache.WarmUpManifest;
+import org.tweetwallfx.config.Configuration;
+
+/**
+ * In-memory cache of decoded {@link Image}s.
+ *
+ * <p>
+ * Images are cached by the digest of the {@link URLContent} they are decoded
+ * from and the requested size, so the same content is decoded only once per
+ * size no matter which cache or URL it originates from. As content with
+ * colliding digests would share its images, the SHA-256 digest of the content
+ * is computed for content not digested by a collision resistant algorithm
+ * (see {@link ContentDigest}). The cache is bounded
+ * by the pixel data of the decoded images (four bytes per pixel) as configured
+ * via {@link CacheSettings#decodedImageCacheMegaBytes()}.
+ *
+ * <p>
+ * In case a {@link CacheSettings#imageVariantCache()} is configured, images
+ * scaled to a requested size are additionally persisted in that cache in
+ * encoded form. Further requests for the same content and size (also after a
+ * restart) then decode the small persisted variant instead of scaling the
+ * original content again. Variants are encoded and persisted in the
+ * background, so callers (e.g. the JavaFX application thread) do not wait for
+ * the disk.
+ *
+ * <p>
+ * In case {@link CacheSettings#decodedImageWarmUpEntries()} is configured, the
+ * most frequently requested images are recorded in a warm-up manifest. After
+ * a restart they are decoded again in the background as soon as their content
+ * is warmed up by its {@link URLContentCacheBase}. As decoding requires the
+ * JavaFX toolkit, which is not necessarily started when the content caches
+ * warm up, this only starts with the first image requested from the cache.
+ */
+public final class ImageCache {
+
+    private static final Logger LOG = LogManager.getLogger(ImageCache.class);
+    private static final long BYTES_PER_PIXEL = 4;
+    private static final int MAX_PENDING_TASKS = 256;
+    private static final ImageCache INSTANCE = createInstance(Configuration.getInstance()
+            .getConfigTyped(CacheSettings.CONFIG_KEY, CacheSettings.class));
+
+    private final WeightedLruCache<Key, Image> images;
+    private final Cache<String, URLContent> variants;
+    private final Executor backgroundExecutor;
+    private final WarmUpManifest warmUpManifest;
+    private final ConcurrentMap<String, List<Key>> warmUpKeys;
+    private final Queue<PendingWarmUp> pendingWarmUps = new ConcurrentLinkedQueue<>();
+    private final AtomicBoolean toolkitStarted = new AtomicBoolean();
+
+    ImageCache(final long maxBytes) {
+        this(maxBytes, null);
+    }
+
+    ImageCache(final long maxBytes, final Cache<String, URLContent> variants) {
+        this(maxBytes, variants, null);
+    }
+
+    ImageCache(final long maxBytes, final Cache<String, URLContent> variants, final WarmUpManifest warmUpManifest) {
+        this(maxBytes, variants, warmUpManifest, createBackgroundExecutor());
+    }
+
+    ImageCache(
+            final long maxBytes,
+            final Cache<String, URLContent> variants,
+            final WarmUpManifest warmUpManifest,
+            final Executor backgroundExecutor) {
+        this.images = new WeightedLruCache<>(maxBytes, ImageCache::weigh);
+        this.variants = variants;
+        this.backgroundExecutor = Objects.requireNonNull(backgroundExecutor, "backgroundExecutor must not be null");
+        this.warmUpManifest = warmUpManifest;
+        this.warmUpKeys = null == warmUpManifest
+                ? new ConcurrentHashMap<>()
+                : warmUpManifest.load().stream()
+                        .map(Key::parse)
+                        .filter(Objects::nonNull)
+                        .collect(Collectors.groupingByConcurrent(Key::digest));
+    }
+
+    private static ImageCache createInstance(final CacheSettings cacheSettings) {
+        return new ImageCache(
+                cacheSettings.decodedImageCacheMegaBytes() * 1024 * 1024,
+                null == cacheSettings.imageVariantCache()
+                ? null
+                : CacheManagerProvider.getCache(cacheSettings.imageVariantCache(), String.class, URLContent.class),
+                0 == cacheSettings.decodedImageWarmUpEntries()
+                ? null
+                : WarmUpManifest.create("decodedImages", cacheSettings.decodedImageWarmUpEntries()));
+    }
+
+    /**
+     * Creates the executor persisting variants and warming up images on a
+     * single background thread. Tasks are dropped while too many of them are
+     * pending, as they are merely an optimization for later requests.
+     */
+    private static Executor createBackgroundExecutor() {
+        return new ThreadPoolExecutor(
+                1,
+                1,
+                0L,
+                TimeUnit.MILLISECONDS,
+                new LinkedBlockingQueue<>(MAX_PENDING_TASKS),
+                r -> {
+                    final Thread t = new Thread(r, "imageCache");
+                    t.setDaemon(true);
+                    return t;
+                },
+                new ThreadPoolExecutor.DiscardPolicy());
+    }
+
+    public static ImageCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the image decoded from {@code content} in its original size.
+     *
+     * @param content the content to decode
+     *
+     * @return the decoded image
+     */
+    public Image getImage(final URLContent content) {
+        return getImage(content, 0, 0, false, false);
+    }
+
+    /**
+     * Returns the image decoded from {@code content} scaled to the requested
+     * size. The parameters have the same meaning as those of
+     * {@link Image#Image(java.io.InputStream, double, double, boolean, boolean)}.
+     *
+     * @param content the content to decode
+     *
+     * @param requestedWidth the image's bounding box width
+     *
+     * @param requestedHeight the image's bounding box height
+     *
+     * @param preserveRatio whether to preserve the aspect ratio of the original
+     * image when scaling to fit the image within the specified bounding box
+     *
+     * @param smooth whether to use a better quality filtering algorithm or a
+     * faster one when scaling this image to fit within the specified bounding
+     * box
+     *
+     * @return the decoded image
+     */
+    public Image getImage(
+            final URLContent content,
+            final double requestedWidth,
+            final double requestedHeight,
+            final boolean preserveRatio,
+            final boolean smooth) {
+        Objects.requireNonNull(content, "content must not be null");
+
+        final Key key = new Key(digestOf(content), requestedWidth, requestedHeight, preserveRatio, smooth);
+        Image image = images.get(key);
+
+        if (null != warmUpManifest) {
+            warmUpManifest.recordAccess(key.manifestEntry());
+        }
+
+        if (null == image) {
+            // decoding is done outside of the lock so concurrent decodes of different images do not block each other
+            image = decodeVariant(key);
+        }
+
+        if (null == image) {
+            image = decode(content, requestedWidth, requestedHeight, preserveRatio, smooth);
+
+            if (image.isError()) {
+                LOG.warn("Failed to decode image with digest {}", key.digest(), image.getException());
+            } else {
+                images.put(key, image);
+
+                if (null != variants && key.isScaled()) {
+                    final Image scaled = image;
+                    backgroundExecutor.execute(() -> storeVariant(key, scaled, content.length()));
+                }
+            }
+        }
+
+        if (!toolkitStarted.get() && toolkitStarted.compareAndSet(false, true)) {
+            // an image has been decoded, so images pending to be warmed up can be decoded as well
+            backgroundExecutor.execute(this::drainPendingWarmUps);
+        }
+
+        return image;
+    }
+
+    /**
+     * Decodes the images of {@code content} recorded in the warm-up manifest
+     * of the previous run in the background. Until the first image is
+     * requested from this cache the content is kept pending, as the JavaFX
+     * toolkit may not have been started yet.
+     *
+     * @param content the content warmed up by its cache
+     */
+    void warmUp(final URLContent content) {
+        final List<Key> keys = warmUpKeys.isEmpty() ? null : warmUpKeys.remove(digestOf(content));
+
+        if (null == keys) {
+            return;
+        }
+
+        pendingWarmUps.add(new PendingWarmUp(content, keys));
+
+        if (toolkitStarted.get()) {
+            backgroundExecutor.execute(this::drainPendingWarmUps);
+        }
+    }
+
+    private void drainPendingWarmUps() {
+        PendingWarmUp pending;
+
+        while (null != (pending = pendingWarmUps.poll())) {
+            final URLContent content = pending.content();
+            pending.keys().forEach(key -> getImage(content, key.requestedWidth(), key.requestedHeight(), key.preserveRatio(), key.smooth()));
+        }
+    }
+
+    /**
+     * Decodes the persisted variant for {@code key} and caches it.
+     *
+     * @return the decoded variant or {@code null} if none is available
+     */
+    private Image decodeVariant(final Key key) {
+        if (null == variants || !key.isScaled()) {
+            return null;
+        }
+
+        final URLContent variant = variants.get(key.variantKey());
+
+        if (null == variant) {
+            return null;
+        }
+
+        final Image image = new Image(variant.getInputStream());
+
+        if (image.isError()) {
+            LOG.warn("Failed to decode image variant {}", key.variantKey(), image.getException());
+            variants.remove(key.variantKey());
+            return null;
+        }
+
+        images.put(key, image);
+        return image;
+    }
+
+    /**
+     * Persists the {@code image} scaled for {@code key} in case its encoded
+     * form is smaller than the original content.
+     */
+    private void storeVariant(final Key key, final Image image, final int originalLength) {
+        if (null == image.getPixelReader()) {
+            return;
+        }
+
+        final int width = (int) image.getWidth();
+        final int height = (int) image.getHeight();
+        final int[] argb = new int[width * height];
+        image.getPixelReader().getPixels(0, 0, width, height, PixelFormat.getIntArgbInstance(), argb, 0, width);
+
+        try {
+            final byte[] encoded = ImageVariantEncoder.encode(width, height, argb);
+
+            if (encoded.length < originalLength) {
+                variants.put(key.variantKey(), new URLContent(encoded, ContentDigest.configured().digest(encoded)));
+            }
+        } catch (final IOException ioe) {
+            LOG.warn("Failed to encode image variant {}", key.variantKey(), ioe);
+        }
+    }
+
+    public long getHitCount() {
+        return images.hitCount();
+    }
+
+    public long getMissCount() {
+        return images.missCount();
+    }
+
+    public long getEvictionCount() {
+        return images.evictionCount();
+    }
+
+    /**
+     * Returns the amount of pixel data in bytes of the currently cached
+     * images.
+     *
+     * @return the amount of pixel data in bytes
+     */
+    public long getWeight() {
+        return images.weight();
+    }
+
+    public int size() {
+        return images.size();
+    }
+
+    public void clear() {
+        images.clear();
+    }
+
+    private static Image decode(
+            final URLContent content,
+            final double requestedWidth,
+            final double requestedHeight,
+            final boolean preserveRatio,
+            final boolean smooth) {
+        return new Image(content.getInputStream(), requestedWidth, requestedHeight, preserveRatio, smooth);
+    }
+
+    /**
+     * Returns the digest identifying the images of {@code content}, which is
+     * also used for the keys of their persisted variants.
+     */
+    private static String digestOf(final URLContent content) {
+        return ContentDigest.isCollisionResistantDigest(content.digest())
+                ? content.digest()
+                : ContentDigest.SHA_256.digest(content.data());
+    }
+
+    private static long weigh(final Image image) {
+        return (long) Math.ceil(image.getWidth()) * (long) Math.ceil(image.getHeight()) * BYTES_PER_PIXEL;
+    }
+
+    /**
+     * Hands the content warmed up by the caches to the {@link ImageCache}.
+     */
+    public static final class ImageWarmUpListener implements WarmUpListener {
+
+        @Override
+        public void warmedUp(final URLContent content) {
+            getInstance().warmUp(content);
+        }
+    }
+
+    private static record PendingWarmUp(URLContent content, List<Key> keys) {
+    }
+
+    private static record Key(
+            String digest,
+            double requestedWidth,
+            double requestedHeight,
+            boolean preserveRatio,
+            boolean smooth) {
+
+        /**
+         * Parses a key written by {@link #manifestEntry()}.
+         *
+         * @return the key or {@code null} if {@code manifestEntry} is invalid
+         */
+        private static Key parse(final String manifestEntry) {
+            final String[] parts = manifestEntry.split("\t");
+
+            if (5 != parts.length) {
+                return null;
+            }
+
+            try {
+                return new Key(
+                        parts[0],
+                        Double.parseDouble(parts[1]),
+                        Double.parseDouble(parts[2]),
+                        Boolean.parseBoolean(parts[3]),
+                        Boolean.parseBoolean(parts[4]));
+            } catch (final NumberFormatException nfe) {
+                LOG.debug("Ignoring invalid warm-up manifest entry {}", manifestEntry, nfe);
+                return null;
+            }
+        }
+
+        /**
+         * Returns the key as entry of the warm-up manifest with its components
+         * separated by tabs.
+         */
+        private String manifestEntry() {
+            return digest + '\t' + requestedWidth + '\t' + requestedHeight + '\t' + preserveRatio + '\t' + smooth;
+        }
+
+        private boolean isScaled() {
+            return requestedWidth > 0 || requestedHeight > 0;
+        }
+
+        /**
+         * Returns the key of the persisted variant, e.g.
+         * {@code <digest>@64.0x64.0-ratio-smooth}.
+         */
+        private String variantKey() {
+            return digest + '@' + requestedWidth + 'x' + requestedHeight
+                    + (preserveRatio ? "-ratio" : "")
+                    + (smooth ? "-smooth" : "");
+        }
+    }
+}
@@ -0,0 +1,110 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 TweetWallFX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.tweetwallfx.cache.fx;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.util.Iterator;
+import javax.imageio.IIOImage;
+import javax.imageio.ImageIO;
+import javax.imageio.ImageWriteParam;
+import javax.imageio.ImageWriter;
+import javax.imageio.stream.ImageOutputStream;
+
+/**
+ * Encodes the pixels of scaled images so they can be persisted by the
+ * {@link ImageCache}. Opaque images are encoded as JPEG, all others as PNG
+ * preserving their transparency.
+ */
+final class ImageVariantEncoder {
+
+    private static final float JPEG_QUALITY = 0.9f;
+
+    private ImageVariantEncoder() {
+        // prevent instantiation
+    }
+
+    /**
+     * Encodes the image with the given size and pixels.
+     *
+     * @param width the width of the image
+     *
+     * @param height the height of the image
+     *
+     * @param argb the pixels of the image row by row in (non-premultiplied)
+     * ARGB format
+     *
+     * @return the encoded image
+     *
+     * @throws IOException in case encoding the image failed
+     */
+    static byte[] encode(final int width, final int height, final int[] argb) throws IOException {
+        final boolean opaque = isOpaque(argb);
+        final BufferedImage image = new BufferedImage(width, height, opaque
+                ? BufferedImage.TYPE_INT_RGB
+                : BufferedImage.TYPE_INT_ARGB);
+        image.setRGB(0, 0, width, height, argb, 0, width);
+
+        final ByteArrayOutputStream out = new ByteArrayOutputStream();
+
+        if (opaque) {
+            writeJpeg(image, out);
+        } else if (!ImageIO.write(image, "png", out)) {
+            throw new IOException("No PNG writer available");
+        }
+
+        return out.toByteArray();
+    }
+
+    private static boolean isOpaque(final int[] argb) {
+        for (final int pixel : argb) {
+            if (0xFF != pixel >>> 24) {
+                return false;
+            }
+        }
+
+        return true;
+    }
+
+    private static void writeJpeg(final BufferedImage image, final ByteArrayOutputStream out) throws IOException {
+        final Iterator<ImageWriter> writers = ImageIO.getImageWritersByFormatName("jpeg");
+
+        if (!writers.hasNext()) {
+            throw new IOException("No JPEG writer available");
+        }
+
+        final ImageWriter writer = writers.next();
+
+        try (ImageOutputStream ios = ImageIO.createImageOutputStream(out)) {
+            final ImageWriteParam param = writer.getDefaultWriteParam();
+            param.setCompressionMode(ImageWriteParam.MODE_EXPLICIT);
+            param.setCompressionQuality(JPEG_QUALITY);
+            writer.setOutput(ios);
+            writer.write(null, new IIOImage(image, null, null), param);
+        } finally {
+            writer.dispose();
+        }
+    }
+}
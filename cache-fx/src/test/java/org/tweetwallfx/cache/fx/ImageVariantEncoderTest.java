@@ -0,0 +1,67 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 TweetWallFX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.tweetwallfx.cache.fx;
+
+import org.junit.jupiter.api.Test;
+
+import java.awt.image.BufferedImage;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.util.Arrays;
+import javax.imageio.ImageIO;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ImageVariantEncoderTest {
+
+    private static final byte[] JPEG_MAGIC = {(byte) 0xFF, (byte) 0xD8};
+    private static final byte[] PNG_MAGIC = {(byte) 0x89, 'P', 'N', 'G'};
+
+    @Test
+    void opaqueImageIsEncodedAsJpeg() throws IOException {
+        final int[] argb = new int[64 * 48];
+        Arrays.fill(argb, 0xFF336699);
+
+        final byte[] encoded = ImageVariantEncoder.encode(64, 48, argb);
+
+        assertThat(Arrays.copyOf(encoded, JPEG_MAGIC.length)).isEqualTo(JPEG_MAGIC);
+        final BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(encoded));
+        assertThat(decoded.getWidth()).isEqualTo(64);
+        assertThat(decoded.getHeight()).isEqualTo(48);
+    }
+
+    @Test
+    void translucentImageIsEncodedAsPng() throws IOException {
+        final int[] argb = new int[32 * 32];
+        for (int i = 0; i < argb.length; i++) {
+            argb[i] = (i % 256) << 24 | i;
+        }
+
+        final byte[] encoded = ImageVariantEncoder.encode(32, 32, argb);
+
+        assertThat(Arrays.copyOf(encoded, PNG_MAGIC.length)).isEqualTo(PNG_MAGIC);
+        final BufferedImage decoded = ImageIO.read(new ByteArrayInputStream(encoded));
+        assertThat(decoded.getRGB(0, 0, 32, 32, null, 0, 32)).isEqualTo(argb);
+    }
+}
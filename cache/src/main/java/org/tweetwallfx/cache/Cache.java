@@ -23,22 +23,54 @@
  */
 package org.tweetwallfx.cache;
 
+import java.util.HashMap;
+import java.util.HashSet;
 import java.util.Map;
+import java.util.Objects;
 import java.util.Set;
 
 /**
  * A {@link Cache} is a Map-like data structure that provides temporary storage
  * of application data.
  *
+ * <p>
+ * A cache may have an in-process front tier (see
+ * {@link CacheSettings.FrontTierSetting}) holding its most frequently accessed
+ * entries. Lookups are served from the front tier if possible and read
+ * through to the ehcache store otherwise. Changes invalidate the affected
+ * entries of the front tier.
+ *
  * @param <K> the type of key
  * @param <V> the type of value
  */
 public class Cache<K, V> {
 
     private final org.ehcache.Cache<K, V> cache;
+    private final CacheStatistics statistics;
+    private final FrontTier<K, V> frontTier;
 
     Cache(final org.ehcache.Cache<K, V> cache) {
+        this(cache, new CacheStatistics());
+    }
+
+    Cache(final org.ehcache.Cache<K, V> cache, final CacheStatistics statistics) {
+        this(cache, statistics, null);
+    }
+
+    Cache(final org.ehcache.Cache<K, V> cache, final CacheStatistics statistics, final FrontTier<K, V> frontTier) {
         this.cache = cache;
+        this.statistics = statistics;
+        this.frontTier = frontTier;
+    }
+
+    /**
+     * Returns the statistics of the accesses to this cache. All {@link Cache}
+     * instances of the same alias share their statistics.
+     *
+     * @return the statistics
+     */
+    public CacheMXBean getStatistics() {
+        return statistics;
     }
 
     /**
@@ -51,7 +83,37 @@ public class Cache<K, V> {
      * @throws NullPointerException if the key is null
      */
     public V get(final K key) {
-        return cache.get(key);
+        if (null == frontTier) {
+            return getFromStore(key);
+        }
+
+        final V frontValue = frontTier.get(key);
+
+        if (null != frontValue) {
+            statistics.frontTierHit();
+            return frontValue;
+        }
+
+        final long stamp = frontTier.stamp();
+        final V value = getFromStore(key);
+
+        if (null != value) {
+            frontTier.add(key, value, stamp);
+        }
+
+        return value;
+    }
+
+    private V getFromStore(final K key) {
+        final V value = cache.get(key);
+
+        if (null == value) {
+            statistics.miss();
+        } else {
+            statistics.hit();
+        }
+
+        return value;
     }
 
     /**
@@ -63,7 +125,44 @@ public class Cache<K, V> {
      * @return Map of entries that were found for the given keys
      */
     public Map<K, V> getAll(final Set<? extends K> keys) {
-        return cache.getAll(keys);
+        if (null == frontTier) {
+            return getAllFromStore(keys);
+        }
+
+        final Map<K, V> values = new HashMap<>();
+        final Set<K> storeKeys = new HashSet<>();
+
+        for (final K key : keys) {
+            final V value = frontTier.get(key);
+
+            if (null == value) {
+                storeKeys.add(key);
+            } else {
+                statistics.frontTierHit();
+                values.put(key, value);
+            }
+        }
+
+        if (!storeKeys.isEmpty()) {
+            final long stamp = frontTier.stamp();
+            final Map<K, V> storeValues = getAllFromStore(storeKeys);
+            storeValues.forEach((key, value) -> {
+                if (null != value) {
+                    frontTier.add(key, value, stamp);
+                }
+            });
+            values.putAll(storeValues);
+        }
+
+        return values;
+    }
+
+    private Map<K, V> getAllFromStore(final Set<? extends K> keys) {
+        final Map<K, V> values = cache.getAll(keys);
+        final long hits = values.values().stream().filter(Objects::nonNull).count();
+        statistics.hits(hits);
+        statistics.misses(keys.size() - hits);
+        return values;
     }
 
     /**
@@ -95,6 +194,8 @@ public class Cache<K, V> {
      */
     public void put(final K key, final V value) {
         cache.put(key, value);
+        invalidate(key);
+        statistics.put();
     }
 
     /**
@@ -107,6 +208,8 @@ public class Cache<K, V> {
      */
     public void putAll(final Map<? extends K, ? extends V> map) {
         cache.putAll(map);
+        map.keySet().forEach(this::invalidate);
+        statistics.puts(map.size());
     }
 
     /**
@@ -123,7 +226,14 @@ public class Cache<K, V> {
      * {@code null}
      */
     public boolean putIfAbsent(final K key, final V value) {
-        return null != cache.putIfAbsent(key, value);
+        final V previous = cache.putIfAbsent(key, value);
+
+        if (null == previous) {
+            invalidate(key);
+            statistics.put();
+        }
+
+        return null != previous;
     }
 
     /**
@@ -138,6 +248,12 @@ public class Cache<K, V> {
     public boolean remove(final K key) {
         final boolean contained = containsKey(key);
         cache.remove(key);
+        invalidate(key);
+
+        if (contained) {
+            statistics.removal();
+        }
+
         return contained;
     }
 
@@ -154,7 +270,14 @@ public class Cache<K, V> {
      * @throws NullPointerException in case the key is {@code null}
      */
     public boolean remove(final K key, final V oldValue) {
-        return cache.remove(key, oldValue);
+        final boolean removed = cache.remove(key, oldValue);
+
+        if (removed) {
+            invalidate(key);
+            statistics.removal();
+        }
+
+        return removed;
     }
 
     /**
@@ -173,7 +296,13 @@ public class Cache<K, V> {
      * are {@code null}
      */
     public boolean replace(final K key, final V oldValue, final V newValue) {
-        return cache.replace(key, oldValue, newValue);
+        final boolean replaced = cache.replace(key, oldValue, newValue);
+
+        if (replaced) {
+            invalidate(key);
+        }
+
+        return replaced;
     }
 
     /**
@@ -186,6 +315,7 @@ public class Cache<K, V> {
      */
     public void removeAll(final Set<? extends K> keys) {
         cache.removeAll(keys);
+        keys.forEach(this::invalidate);
     }
 
     /**
@@ -193,5 +323,19 @@ public class Cache<K, V> {
      */
     public void clear() {
         cache.clear();
+
+        if (null != frontTier) {
+            frontTier.invalidateAll();
+        }
+    }
+
+    /**
+     * Invalidates the entry of {@code key} in the front tier after its value
+     * was changed in the ehcache store.
+     */
+    private void invalidate(final K key) {
+        if (null != frontTier) {
+            frontTier.invalidate(key);
+        }
     }
 }
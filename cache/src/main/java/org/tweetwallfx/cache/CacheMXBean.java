@@ -0,0 +1,84 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 TweetWallFX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.tweetwallfx.cache;
+
+/**
+ * Statistics of the accesses to a {@link Cache} published over JMX as
+ * {@code org.tweetwallfx.cache:type=Cache,name=<alias>}.
+ */
+public interface CacheMXBean {
+
+    /**
+     * Returns the number of lookups that found an entry.
+     *
+     * @return the number of hits
+     */
+    long getHitCount();
+
+    /**
+     * Returns the number of lookups that did not find an entry.
+     *
+     * @return the number of misses
+     */
+    long getMissCount();
+
+    /**
+     * Returns the share of lookups that found an entry.
+     *
+     * @return the hit ratio between {@code 0} and {@code 1} or {@code NaN} if
+     * there have been no lookups yet
+     */
+    double getHitRatio();
+
+    /**
+     * Returns the number of lookups that found an entry in the front tier
+     * (see {@link CacheSettings.FrontTierSetting}). These are included in the
+     * {@link #getHitCount() hits}.
+     *
+     * @return the number of front tier hits
+     */
+    long getFrontTierHitCount();
+
+    /**
+     * Returns the share of lookups that found an entry in the front tier.
+     *
+     * @return the front tier hit ratio between {@code 0} and {@code 1} or
+     * {@code NaN} if there have been no lookups yet
+     */
+    double getFrontTierHitRatio();
+
+    /**
+     * Returns the number of entries put into the cache.
+     *
+     * @return the number of puts
+     */
+    long getPutCount();
+
+    /**
+     * Returns the number of entries removed from the cache.
+     *
+     * @return the number of removals
+     */
+    long getRemovalCount();
+}
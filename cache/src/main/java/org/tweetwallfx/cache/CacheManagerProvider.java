@@ -23,12 +23,14 @@
  */
 package org.tweetwallfx.cache;
 
-import java.io.File;
+import java.nio.file.Path;
+import java.time.Clock;
 import java.util.Collection;
 import java.util.EnumSet;
-import java.util.HashSet;
 import java.util.Map;
 import java.util.Objects;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 import org.ehcache.config.Builder;
@@ -44,16 +46,24 @@ import org.ehcache.event.EventOrdering;
 import org.ehcache.event.EventType;
 import org.ehcache.expiry.ExpiryPolicy;
 import org.ehcache.impl.config.persistence.CacheManagerPersistenceConfiguration;
+import org.ehcache.impl.config.serializer.DefaultSerializerConfiguration;
+import org.ehcache.spi.serialization.Serializer;
 import org.tweetwallfx.config.Configuration;
 import org.tweetwallfx.cache.CacheSettings.CacheResource;
 
 public final class CacheManagerProvider {
 
     /**
-     * Configuration key under which the data for this Settings object is stored
-     * in the configuration data map.
+     * Statistics of the caches by their alias, shared by all {@link Cache}
+     * instances of an alias.
      */
-    private static final Collection<String> LISTENERS_ADDED_TO_CACHES = new HashSet<>(4);
+    private static final ConcurrentMap<String, CacheStatistics> CACHE_STATISTICS = new ConcurrentHashMap<>();
+    /**
+     * Front tiers of the caches by their alias, shared by all {@link Cache}
+     * instances of an alias so changes through one invalidate the entries
+     * read through another.
+     */
+    private static final ConcurrentMap<String, FrontTier<?, ?>> FRONT_TIERS = new ConcurrentHashMap<>();
     private static final Logger LOG = LogManager.getLogger(CacheManagerProvider.class);
     private static final org.ehcache.CacheManager CACHE_MANAGER = createCacheManager();
 
@@ -66,35 +76,97 @@ public final class CacheManagerProvider {
 
         if (null == cache) {
             throw new IllegalArgumentException("No cache named '" + alias + "' exists!");
-        } else if (LISTENERS_ADDED_TO_CACHES.add(alias)) {
+        }
+
+        final CacheStatistics statistics = CACHE_STATISTICS.computeIfAbsent(alias, a -> {
             cache.getRuntimeConfiguration().registerCacheEventListener(
                     event -> LOG.debug("Cache({}) @ Key '{}'- {}", alias, event.getKey(), event.getType()),
                     EventOrdering.UNORDERED,
                     EventFiring.ASYNCHRONOUS,
                     EnumSet.allOf(EventType.class)
             );
-        }
 
-        return new Cache<>(cache);
+            final CacheStatistics cacheStatistics = new CacheStatistics();
+            MBeans.register("Cache", alias, cacheStatistics);
+            return cacheStatistics;
+        });
+
+        return new Cache<>(cache, statistics, getFrontTier(alias, valueClass));
+    }
+
+    @SuppressWarnings("unchecked")
+    private static <K, V> FrontTier<K, V> getFrontTier(final String alias, final Class<V> valueClass) {
+        return (FrontTier<K, V>) FRONT_TIERS.computeIfAbsent(alias, a -> {
+            final CacheSettings.FrontTierSetting frontTierSetting = Configuration.getInstance()
+                    .getConfigTyped(CacheSettings.CONFIG_KEY, CacheSettings.class)
+                    .caches()
+                    .get(alias)
+                    .frontTier();
+
+            if (null == frontTierSetting) {
+                // no front tier is configured (computeIfAbsent does not store null)
+                return null;
+            }
+
+            if (null != frontTierSetting.maxMegaBytes()) {
+                if (HeapSized.class.isAssignableFrom(valueClass)) {
+                    LOG.info("Cache({}) has a front tier of {} entries and {} MB", alias, frontTierSetting.maxEntries(), frontTierSetting.maxMegaBytes());
+                    return new FrontTier<K, V>(frontTierSetting, value -> ((HeapSized) value).heapSize(), Clock.systemUTC());
+                }
+
+                LOG.warn("Cache({}) bounds its front tier in entries only as its values of type {} do not implement {}",
+                        alias, valueClass.getName(), HeapSized.class.getName());
+            }
+
+            LOG.info("Cache({}) has a front tier of {} entries", alias, frontTierSetting.maxEntries());
+            return new FrontTier<K, V>(frontTierSetting, Clock.systemUTC());
+        });
+    }
+
+    /**
+     * Returns the directory in the user home directory holding the persisted
+     * data of the caches.
+     *
+     * @return the directory holding the persisted data of the caches
+     */
+    static Path getPersistenceDirectory() {
+        return Path.of(
+                System.getProperty("user.home"),
+                Configuration.getInstance()
+                        .getConfigTyped(CacheSettings.CONFIG_KEY, CacheSettings.class)
+                        .persistenceDirectoryName());
     }
 
     private static org.ehcache.CacheManager createCacheManager() {
         final CacheSettings cacheSettings = Configuration.getInstance().getConfigTyped(CacheSettings.CONFIG_KEY, CacheSettings.class);
         CacheManagerBuilder<? extends org.ehcache.CacheManager> cacheManagerBuilder = CacheManagerBuilder
                 .newCacheManagerBuilder()
-                .with(new CacheManagerPersistenceConfiguration(new File(
-                        System.getProperty("user.home"),
-                        cacheSettings.persistenceDirectoryName())));
+                .with(new CacheManagerPersistenceConfiguration(getPersistenceDirectory().toFile()))
+                .using(new HeapSizeOfEngineProvider());
 
         for (final Map.Entry<String, CacheSettings.CacheSetting> entry : cacheSettings.caches().entrySet()) {
             final String alias = entry.getKey();
             final CacheSettings.CacheSetting cacheSetting = entry.getValue();
+            final Class<?> valueClass = loadClass(cacheSetting.valueType());
+            final boolean heapSized = HeapSized.class.isAssignableFrom(valueClass);
+
+            if (!heapSized && cacheSetting.cacheResources().stream()
+                    .anyMatch(cacheResource -> CacheSettings.CacheResourceType.HEAP == cacheResource.type() && null != cacheResource.unit())) {
+                LOG.warn("Cache({}) sizes its heap in entries as its values of type {} do not implement {}",
+                        alias, valueClass.getName(), HeapSized.class.getName());
+            }
 
             CacheConfigurationBuilder<?, ?> builder = CacheConfigurationBuilder
                     .newCacheConfigurationBuilder(
                             loadClass(cacheSetting.keyType()),
-                            loadClass(cacheSetting.valueType()),
-                            createResourcePoolsBuilder(cacheSetting.cacheResources()));
+                            valueClass,
+                            createResourcePoolsBuilder(cacheSetting.cacheResources(), heapSized));
+
+            if (null != cacheSetting.valueSerializer()) {
+                builder = builder.withService(new DefaultSerializerConfiguration<>(
+                        loadSerializerClass(cacheSetting.valueSerializer()),
+                        DefaultSerializerConfiguration.Type.VALUE));
+            }
 
             if (null != cacheSetting.expiry()) {
                 builder = builder.withExpiry(createExpiryPolicy(cacheSetting.expiry()));
@@ -122,20 +194,33 @@ public final class CacheManagerProvider {
         }
     }
 
-    private static Builder<ResourcePools> createResourcePoolsBuilder(final Collection<CacheResource> cacheResources) {
+    @SuppressWarnings("unchecked")
+    private static Class<? extends Serializer<Object>> loadSerializerClass(final String className) {
+        final Class<?> serializerClass = loadClass(className);
+
+        if (!Serializer.class.isAssignableFrom(serializerClass)) {
+            throw new IllegalStateException("Class '" + className + "' is not a " + Serializer.class.getName());
+        }
+
+        return (Class<? extends Serializer<Object>>) serializerClass;
+    }
+
+    private static Builder<ResourcePools> createResourcePoolsBuilder(final Collection<CacheResource> cacheResources, final boolean heapSized) {
         ResourcePoolsBuilder builder = ResourcePoolsBuilder.newResourcePoolsBuilder();
 
         for (CacheResource cacheResource : cacheResources) {
-            builder = addResource(builder, cacheResource);
+            builder = addResource(builder, cacheResource, heapSized);
         }
 
         return builder;
     }
 
-    private static ResourcePoolsBuilder addResource(final ResourcePoolsBuilder builder, final CacheResource cacheResource) {
+    private static ResourcePoolsBuilder addResource(final ResourcePoolsBuilder builder, final CacheResource cacheResource, final boolean heapSized) {
         return switch (cacheResource.type()) {
             case DISK -> builder.disk(cacheResource.amount(), convert(cacheResource.unit()), true);
-            case HEAP -> builder.heap(cacheResource.amount(), EntryUnit.ENTRIES);
+            case HEAP -> null == cacheResource.unit() || !heapSized
+                    ? builder.heap(cacheResource.amount(), EntryUnit.ENTRIES)
+                    : builder.heap(cacheResource.amount(), convert(cacheResource.unit()));
             case OFFHEAP -> builder.offheap(cacheResource.amount(), convert(cacheResource.unit()));
         };
     }
@@ -33,8 +33,54 @@ import org.tweetwallfx.config.ConfigurationConverter;
 import static org.tweetwallfx.util.Nullable.nullable;
 import static org.tweetwallfx.util.Nullable.valueOrDefault;
 
+/**
+ * POJO used to configure the caches.
+ *
+ * <p>
+ * Param {@code persistenceDirectoryName} The name of the directory (in the
+ * user home directory) holding the disk tiers of the caches. Defaults to
+ * {@code tweetwall-cache}.
+ *
+ * <p>
+ * Param {@code decodedImageCacheMegaBytes} The maximum amount of pixel data
+ * in megabytes the {@code ImageCache} (of the {@code tweetwallfx-cache-fx}
+ * module) keeps decoded images for. Defaults to
+ * {@code 64}, which holds about 200 decoded photos of 320x240 pixels or
+ * several thousand decoded profile images.
+ *
+ * <p>
+ * Param {@code imageVariantCache} The alias of a cache persisting the images
+ * the {@code ImageCache} scaled to a requested size, so they are not scaled
+ * from the original content again. Defaults to not persisting scaled images.
+ *
+ * <p>
+ * Param {@code decodedImageWarmUpEntries} The number of most frequently
+ * requested images the {@code ImageCache} records in a warm-up manifest. The
+ * recorded images are decoded again in the background after a restart as soon
+ * as their content is warmed up by its cache (see
+ * {@link CacheSetting#warmUpEntries()}). Defaults to {@code 0}, which disables
+ * the warm-up.
+ *
+ * <p>
+ * Param {@code httpClient} The settings of the HTTP client loading the content
+ * of the caches.
+ *
+ * <p>
+ * Param {@code digestAlgorithm} The algorithm computing the digest of loaded
+ * content. Has to be {@code SHA_256} if any cache has a {@code contentStore}
+ * (see {@link ContentDigest}). Defaults to {@code SHA_256} in that case,
+ * otherwise to {@code MD5}.
+ *
+ * <p>
+ * Param {@code caches} The settings of the individual caches by their alias.
+ */
 public record CacheSettings(
         String persistenceDirectoryName,
+        Long decodedImageCacheMegaBytes,
+        String imageVariantCache,
+        Integer decodedImageWarmUpEntries,
+        HttpClientSetting httpClient,
+        ContentDigest digestAlgorithm,
         Map<String, CacheSetting> caches) {
 
     /**
@@ -45,9 +91,30 @@ public record CacheSettings(
 
     public CacheSettings(
             final String persistenceDirectoryName,
+            final Long decodedImageCacheMegaBytes,
+            final String imageVariantCache,
+            final Integer decodedImageWarmUpEntries,
+            final HttpClientSetting httpClient,
+            final ContentDigest digestAlgorithm,
             final Map<String, CacheSetting> caches) {
         this.persistenceDirectoryName = valueOrDefault(persistenceDirectoryName, "tweetwall-cache");
+        this.decodedImageCacheMegaBytes = valueOrDefault(decodedImageCacheMegaBytes, 64L);
+        if (this.decodedImageCacheMegaBytes < 0) {
+            throw new IllegalArgumentException("property 'decodedImageCacheMegaBytes' must not be a negative number");
+        }
+        this.imageVariantCache = imageVariantCache;
+        this.decodedImageWarmUpEntries = valueOrDefault(decodedImageWarmUpEntries, 0);
+        if (this.decodedImageWarmUpEntries < 0) {
+            throw new IllegalArgumentException("property 'decodedImageWarmUpEntries' must not be a negative number");
+        }
+        this.httpClient = valueOrDefault(httpClient, new HttpClientSetting(null, null, null));
         this.caches = nullable(caches);
+        final boolean contentAddressed = this.caches.values().stream().anyMatch(cacheSetting -> null != cacheSetting.contentStore());
+        this.digestAlgorithm = valueOrDefault(digestAlgorithm, contentAddressed ? ContentDigest.SHA_256 : ContentDigest.MD5);
+        if (contentAddressed && !this.digestAlgorithm.isCollisionResistant()) {
+            throw new IllegalArgumentException("property 'digestAlgorithm' must be SHA_256 instead of " + this.digestAlgorithm
+                    + " as long as any cache has a 'contentStore'");
+        }
     }
 
     @Override
@@ -72,23 +139,166 @@ public record CacheSettings(
         }
     }
 
+    /**
+     * POJO used to configure the HTTP client loading the content of the
+     * caches. Proxy settings are taken from the
+     * {@link org.tweetwallfx.config.ConnectionSettings}.
+     *
+     * <p>
+     * Param {@code connectTimeoutSeconds} The time in seconds to wait for a
+     * connection to be established. Defaults to {@code 10}.
+     *
+     * <p>
+     * Param {@code requestTimeoutSeconds} The time in seconds to wait for the
+     * complete content of a request to be received. Defaults to {@code 60}.
+     *
+     * <p>
+     * Param {@code maxConcurrentRequestsPerHost} The maximum number of
+     * requests running against a single host at the same time. Defaults to
+     * {@code 4}.
+     */
+    public static record HttpClientSetting(
+            Long connectTimeoutSeconds,
+            Long requestTimeoutSeconds,
+            Integer maxConcurrentRequestsPerHost) {
+
+        public HttpClientSetting(
+                final Long connectTimeoutSeconds,
+                final Long requestTimeoutSeconds,
+                final Integer maxConcurrentRequestsPerHost) {
+            this.connectTimeoutSeconds = valueOrDefault(connectTimeoutSeconds, 10L);
+            if (this.connectTimeoutSeconds <= 0) {
+                throw new IllegalArgumentException("property 'connectTimeoutSeconds' must be a positive number");
+            }
+            this.requestTimeoutSeconds = valueOrDefault(requestTimeoutSeconds, 60L);
+            if (this.requestTimeoutSeconds <= 0) {
+                throw new IllegalArgumentException("property 'requestTimeoutSeconds' must be a positive number");
+            }
+            this.maxConcurrentRequestsPerHost = valueOrDefault(maxConcurrentRequestsPerHost, 4);
+            if (this.maxConcurrentRequestsPerHost <= 0) {
+                throw new IllegalArgumentException("property 'maxConcurrentRequestsPerHost' must be a positive number");
+            }
+        }
+    }
+
+    /**
+     * Settings of a single cache.
+     *
+     * <p>
+     * Param {@code valueSerializer} The fully qualified class name of the
+     * {@link org.ehcache.spi.serialization.Serializer} used to store values in
+     * the off-heap and disk tiers (e.g.
+     * {@code org.tweetwallfx.cache.URLContentSerializer}). Defaults to the
+     * serializer ehcache chooses for the {@code valueType}.
+     *
+     * <p>
+     * Param {@code contentStore} The alias of a cache holding content by its
+     * digest. If set, this cache only holds the digest and validators of the
+     * content of each URL, so identical content loaded from different URLs
+     * (also by different caches using the same {@code contentStore}) is stored
+     * only once. Requires {@code SHA_256} as
+     * {@link CacheSettings#digestAlgorithm()}. Defaults to holding the content
+     * in this cache.
+     *
+     * <p>
+     * Param {@code revalidation} When cached content is to be revalidated
+     * with its origin. Defaults to never revalidating cached content.
+     *
+     * <p>
+     * Param {@code negativeCaching} How loading URLs whose content failed to
+     * load is backed off. Defaults to the defaults of
+     * {@link NegativeCaching}.
+     *
+     * <p>
+     * Param {@code frontTier} The in-process tier in front of the tiers
+     * configured via {@code cacheResources}. Defaults to no front tier.
+     *
+     * <p>
+     * Param {@code contentLoaderThreads} The number of threads loading content
+     * in the {@code PLATFORM_THREADS} {@code contentLoaderMode}. Defaults to
+     * {@code 0} (which starts a single thread).
+     *
+     * <p>
+     * Param {@code contentLoaderMode} How content is loaded. Defaults to
+     * {@code PLATFORM_THREADS}.
+     *
+     * <p>
+     * Param {@code maxConcurrentLoads} The maximum number of loads running at
+     * the same time in the {@code VIRTUAL_THREADS} {@code contentLoaderMode}.
+     * Not applied if virtual threads are not available on the runtime, where
+     * the {@code contentLoaderThreads} limit the concurrent loads instead.
+     * Loads against a single host are additionally limited by
+     * {@link HttpClientSetting#maxConcurrentRequestsPerHost()}. Defaults to
+     * {@code 64}.
+     *
+     * <p>
+     * Param {@code prefetchConcurrency} The maximum number of loads a single
+     * {@link URLContentCacheBase#prefetch(java.util.Collection)} runs at the
+     * same time. Defaults to the number of {@code contentLoaderThreads} (at
+     * least {@code 1}), respectively {@code maxConcurrentLoads} in the
+     * {@code VIRTUAL_THREADS} {@code contentLoaderMode}.
+     *
+     * <p>
+     * Param {@code warmUpEntries} The number of most frequently accessed URLs
+     * recorded in a warm-up manifest. After a restart the cached content of the
+     * recorded URLs is promoted from the disk to the heap tier in the
+     * background. Defaults to {@code 0}, which disables the warm-up.
+     */
     public static record CacheSetting(
             String keyType,
             String valueType,
+            String valueSerializer,
+            String contentStore,
             CacheExpiry expiry,
+            CacheRevalidation revalidation,
+            NegativeCaching negativeCaching,
+            FrontTierSetting frontTier,
             Integer contentLoaderThreads,
+            ContentLoaderMode contentLoaderMode,
+            Integer maxConcurrentLoads,
+            Integer prefetchConcurrency,
+            Integer warmUpEntries,
             List<CacheResource> cacheResources) {
 
         public CacheSetting(
                 final String keyType,
                 final String valueType,
+                final String valueSerializer,
+                final String contentStore,
                 final CacheExpiry expiry,
+                final CacheRevalidation revalidation,
+                final NegativeCaching negativeCaching,
+                final FrontTierSetting frontTier,
                 final Integer contentLoaderThreads,
+                final ContentLoaderMode contentLoaderMode,
+                final Integer maxConcurrentLoads,
+                final Integer prefetchConcurrency,
+                final Integer warmUpEntries,
                 final List<CacheResource> cacheResources) {
             this.keyType = Objects.requireNonNull(keyType, "keyType must not be null");
             this.valueType = Objects.requireNonNull(valueType, "valueType must not be null");
+            this.valueSerializer = valueSerializer;
+            this.contentStore = contentStore;
             this.expiry = expiry;
+            this.revalidation = revalidation;
+            this.negativeCaching = valueOrDefault(negativeCaching, new NegativeCaching(null, null, null, null));
+            this.frontTier = frontTier;
             this.contentLoaderThreads = valueOrDefault(contentLoaderThreads, 0);
+            this.contentLoaderMode = valueOrDefault(contentLoaderMode, ContentLoaderMode.PLATFORM_THREADS);
+            this.maxConcurrentLoads = valueOrDefault(maxConcurrentLoads, 64);
+            if (this.maxConcurrentLoads < 1) {
+                throw new IllegalArgumentException("maxConcurrentLoads must be positive");
+            }
+            this.prefetchConcurrency = valueOrDefault(prefetchConcurrency, ContentLoaderMode.VIRTUAL_THREADS == this.contentLoaderMode
+                    ? this.maxConcurrentLoads
+                    : Math.max(1, this.contentLoaderThreads));
+            if (this.prefetchConcurrency < 1) {
+                throw new IllegalArgumentException("prefetchConcurrency must be positive");
+            }
+            this.warmUpEntries = valueOrDefault(warmUpEntries, 0);
+            if (this.warmUpEntries < 0) {
+                throw new IllegalArgumentException("warmUpEntries must not be negative");
+            }
             this.cacheResources = nullable(cacheResources);
         }
 
@@ -117,6 +327,185 @@ public record CacheSettings(
         }
     }
 
+    /**
+     * POJO used to configure the revalidation of cached content with its
+     * origin. Content is revalidated with a conditional request using the
+     * {@code ETag} and {@code Last-Modified} validators it was served with.
+     *
+     * <p>
+     * Param {@code maxAge} The age after which cached content is stale and
+     * revalidated on its next access.
+     *
+     * <p>
+     * Param {@code staleWhileRevalidate} The age beyond {@code maxAge} up to
+     * which stale content is still served while it is revalidated in the
+     * background. Older content is revalidated before it is served. Defaults
+     * to {@code 0}.
+     *
+     * <p>
+     * Param {@code unit} The unit of {@code maxAge} and
+     * {@code staleWhileRevalidate}.
+     */
+    public static record CacheRevalidation(
+            Long maxAge,
+            Long staleWhileRevalidate,
+            @SuppressFBWarnings ChronoUnit unit) {
+
+        public CacheRevalidation(
+                final Long maxAge,
+                final Long staleWhileRevalidate,
+                final ChronoUnit unit) {
+            this.maxAge = Objects.requireNonNull(maxAge, "maxAge must not be null");
+            if (this.maxAge < 0) {
+                throw new IllegalArgumentException("property 'maxAge' must not be a negative number");
+            }
+            this.staleWhileRevalidate = valueOrDefault(staleWhileRevalidate, 0L);
+            if (this.staleWhileRevalidate < 0) {
+                throw new IllegalArgumentException("property 'staleWhileRevalidate' must not be a negative number");
+            }
+            this.unit = Objects.requireNonNull(unit, "unit must not be null");
+        }
+
+        public Duration produceMaxAge() {
+            return Duration.of(maxAge, unit);
+        }
+
+        public Duration produceStaleWhileRevalidate() {
+            return Duration.of(staleWhileRevalidate, unit);
+        }
+    }
+
+    /**
+     * POJO used to configure the backoff of loading URLs whose content failed
+     * to load. While a URL is backed off requests for its content fail without
+     * trying to load it.
+     *
+     * <p>
+     * Param {@code initialBackoff} The time a URL is backed off after its
+     * first failure. The time doubles with every further failure. Defaults to
+     * {@code 1}.
+     *
+     * <p>
+     * Param {@code maxTtl} The maximum time a URL is backed off. Failures
+     * longer ago than this no longer count towards the backoff. Defaults to
+     * {@code 60}.
+     *
+     * <p>
+     * Param {@code unit} The unit of {@code initialBackoff} and
+     * {@code maxTtl}. Defaults to {@code MINUTES}.
+     *
+     * <p>
+     * Param {@code maxEntries} The maximum number of failed URLs to remember.
+     * {@code 0} disables the backoff. Defaults to {@code 1000}.
+     */
+    public static record NegativeCaching(
+            Long initialBackoff,
+            Long maxTtl,
+            @SuppressFBWarnings ChronoUnit unit,
+            Integer maxEntries) {
+
+        public NegativeCaching(
+                final Long initialBackoff,
+                final Long maxTtl,
+                final ChronoUnit unit,
+                final Integer maxEntries) {
+            this.initialBackoff = valueOrDefault(initialBackoff, 1L);
+            if (this.initialBackoff <= 0) {
+                throw new IllegalArgumentException("property 'initialBackoff' must be a positive number");
+            }
+            this.maxTtl = valueOrDefault(maxTtl, 60L);
+            if (this.maxTtl < this.initialBackoff) {
+                throw new IllegalArgumentException("property 'maxTtl' must not be less than 'initialBackoff'");
+            }
+            this.unit = valueOrDefault(unit, ChronoUnit.MINUTES);
+            this.maxEntries = valueOrDefault(maxEntries, 1000);
+            if (this.maxEntries < 0) {
+                throw new IllegalArgumentException("property 'maxEntries' must not be a negative number");
+            }
+        }
+
+        public Duration produceInitialBackoff() {
+            return Duration.of(initialBackoff, unit);
+        }
+
+        public Duration produceMaxTtl() {
+            return Duration.of(maxTtl, unit);
+        }
+    }
+
+    /**
+     * POJO used to configure the in-process tier in front of the tiers of a
+     * cache. The front tier holds the most frequently accessed entries, which
+     * are then read without going through the tiers of the cache.
+     *
+     * <p>
+     * Param {@code maxEntries} The maximum number of entries held by the front
+     * tier.
+     *
+     * <p>
+     * Param {@code maxMegaBytes} The maximum amount of memory in megabytes the
+     * values held by the front tier occupy, in addition to the
+     * {@code maxEntries} bound. Only applied to values implementing
+     * {@link HeapSized}, such as {@link URLContent}. Defaults to bounding the
+     * front tier by {@code maxEntries} only.
+     *
+     * <p>
+     * Param {@code maxAge} The time after which an entry of the front tier is
+     * read from the tiers of the cache again, so expiry and eviction in these
+     * tiers take effect. Defaults to {@code 1}.
+     *
+     * <p>
+     * Param {@code unit} The unit of {@code maxAge}. Defaults to
+     * {@code MINUTES}.
+     */
+    public static record FrontTierSetting(
+            Integer maxEntries,
+            Integer maxMegaBytes,
+            Long maxAge,
+            @SuppressFBWarnings ChronoUnit unit) {
+
+        public FrontTierSetting(
+                final Integer maxEntries,
+                final Integer maxMegaBytes,
+                final Long maxAge,
+                final ChronoUnit unit) {
+            this.maxEntries = Objects.requireNonNull(maxEntries, "maxEntries must not be null");
+            if (this.maxEntries <= 0) {
+                throw new IllegalArgumentException("property 'maxEntries' must be a positive number");
+            }
+            this.maxMegaBytes = maxMegaBytes;
+            if (null != this.maxMegaBytes && this.maxMegaBytes <= 0) {
+                throw new IllegalArgumentException("property 'maxMegaBytes' must be a positive number");
+            }
+            this.maxAge = valueOrDefault(maxAge, 1L);
+            if (this.maxAge <= 0) {
+                throw new IllegalArgumentException("property 'maxAge' must be a positive number");
+            }
+            this.unit = valueOrDefault(unit, ChronoUnit.MINUTES);
+        }
+
+        public Duration produceMaxAge() {
+            return Duration.of(maxAge, unit);
+        }
+    }
+
+    /**
+     * How the content of a cache is loaded.
+     */
+    public enum ContentLoaderMode {
+
+        /**
+         * Content is loaded by a fixed number of platform threads.
+         */
+        PLATFORM_THREADS,
+        /**
+         * Each load runs on its own virtual thread. On runtimes without
+         * virtual threads content is loaded as in {@link #PLATFORM_THREADS}
+         * mode by {@code contentLoaderThreads} platform threads instead.
+         */
+        VIRTUAL_THREADS;
+    }
+
     public enum CacheExpiryType {
 
         NONE,
@@ -124,6 +513,22 @@ public record CacheSettings(
         TIME_TO_LIVE;
     }
 
+    /**
+     * POJO used to configure a tier of a cache.
+     *
+     * <p>
+     * Param {@code type} The type of the tier.
+     *
+     * <p>
+     * Param {@code amount} The size of the tier in {@code unit}.
+     *
+     * <p>
+     * Param {@code unit} The memory unit of {@code amount}. Optional for the
+     * {@code HEAP} tier, which is sized in entries without a unit. A
+     * {@code HEAP} tier is only sized in memory units for values implementing
+     * {@link HeapSized}, such as {@link URLContent}. For other values the unit
+     * is ignored with a warning and the tier holds {@code amount} entries.
+     */
     public static record CacheResource(
             CacheResourceType type,
             Long amount,
@@ -0,0 +1,113 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 TweetWallFX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.tweetwallfx.cache;
+
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Lock-free counters of the accesses to a {@link Cache}, shared by all
+ * {@link Cache} instances of the same alias.
+ */
+final class CacheStatistics implements CacheMXBean {
+
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder puts = new LongAdder();
+    private final LongAdder removals = new LongAdder();
+    private final LongAdder frontTierHits = new LongAdder();
+
+    void hit() {
+        hits.increment();
+    }
+
+    void hits(final long count) {
+        hits.add(count);
+    }
+
+    void miss() {
+        misses.increment();
+    }
+
+    void misses(final long count) {
+        misses.add(count);
+    }
+
+    void frontTierHit() {
+        hits.increment();
+        frontTierHits.increment();
+    }
+
+    void put() {
+        puts.increment();
+    }
+
+    void puts(final long count) {
+        puts.add(count);
+    }
+
+    void removal() {
+        removals.increment();
+    }
+
+    @Override
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    @Override
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    @Override
+    public double getHitRatio() {
+        return ratio(getHitCount(), getMissCount());
+    }
+
+    @Override
+    public long getFrontTierHitCount() {
+        return frontTierHits.sum();
+    }
+
+    @Override
+    public double getFrontTierHitRatio() {
+        final long frontTierHitCount = getFrontTierHitCount();
+        return ratio(frontTierHitCount, getHitCount() + getMissCount() - frontTierHitCount);
+    }
+
+    @Override
+    public long getPutCount() {
+        return puts.sum();
+    }
+
+    @Override
+    public long getRemovalCount() {
+        return removals.sum();
+    }
+
+    static double ratio(final long hits, final long misses) {
+        final long lookups = hits + misses;
+        return 0 == lookups ? Double.NaN : (double) hits / lookups;
+    }
+}
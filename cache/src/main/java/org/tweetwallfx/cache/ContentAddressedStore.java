@@ -0,0 +1,108 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 TweetWallFX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.tweetwallfx.cache;
+
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * {@link ContentStore} holding content by its digest, so identical content
+ * loaded from different URLs is stored only once.
+ *
+ * <p>
+ * The index maps each URL to the digest, validators and load time of its
+ * content (a {@link URLContent} without data), the blob cache maps the digest
+ * to the data. Index entries whose data has been evicted from the blob cache
+ * are treated as missing. Index entries still holding their data (e.g.
+ * stored before the cache was configured to use a blob cache) are served as
+ * they are.
+ *
+ * <p>
+ * Content whose digest collides with the stored blob of different content is
+ * kept in the index with its data, so it is never served for the URL of the
+ * other content.
+ */
+final class ContentAddressedStore implements ContentStore {
+
+    private static final Logger LOG = LogManager.getLogger(ContentAddressedStore.class);
+
+    private final Cache<String, URLContent> index;
+    private final Cache<String, URLContent> blobs;
+
+    ContentAddressedStore(final Cache<String, URLContent> index, final Cache<String, URLContent> blobs) {
+        this.index = index;
+        this.blobs = blobs;
+    }
+
+    @Override
+    public URLContent get(final String urlString) {
+        final URLContent reference = index.get(urlString);
+
+        if (null == reference || !isReference(reference)) {
+            return reference;
+        }
+
+        final URLContent blob = blobs.get(reference.digest());
+
+        if (null == blob) {
+            index.remove(urlString, reference);
+            return null;
+        }
+
+        return reference.withDataOf(blob);
+    }
+
+    @Override
+    public boolean containsKey(final String urlString) {
+        final URLContent reference = index.get(urlString);
+
+        return null != reference
+                && (!isReference(reference) || blobs.containsKey(reference.digest()));
+    }
+
+    @Override
+    public void put(final String urlString, final URLContent content) {
+        if (null == content.digest()) {
+            // not addressable, keep the content in the index
+            index.put(urlString, content);
+            return;
+        }
+
+        final URLContent blob = content.withoutMetadata();
+        blobs.putIfAbsent(content.digest(), blob);
+        final URLContent stored = blobs.get(content.digest());
+
+        if (null != stored && !stored.equals(blob)) {
+            LOG.warn("Content of {} collides with different content of digest {}", urlString, content.digest());
+            index.put(urlString, content);
+            return;
+        }
+
+        index.put(urlString, content.withoutData());
+    }
+
+    private static boolean isReference(final URLContent content) {
+        return 0 == content.length() && null != content.digest();
+    }
+}
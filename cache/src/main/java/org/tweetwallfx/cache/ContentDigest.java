@@ -0,0 +1,319 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 TweetWallFX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.tweetwallfx.cache;
+
+import java.lang.invoke.MethodHandles;
+import java.lang.invoke.VarHandle;
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import org.tweetwallfx.config.Configuration;
+
+/**
+ * The algorithms available to compute the digest of {@link URLContent}.
+ *
+ * <p>
+ * The digest serves as the identity of content: a {@link ContentAddressedStore}
+ * stores content by its digest and the {@code ImageCache} of the
+ * {@code tweetwallfx-cache-fx} module shares decoded images of content with
+ * the same digest. Content with a colliding digest is
+ * therefore served in place of the other, e.g. the image of one URL for
+ * another URL. As tweet media are supplied by arbitrary users, the algorithm
+ * has to make crafting collisions infeasible:
+ *
+ * <ul>
+ * <li>{@link #MURMUR3_128} is considerably faster than {@link #MD5} for large
+ * content, but collisions of it are easily crafted.</li>
+ * <li>Collisions of {@link #MD5} can be crafted with considerable effort.</li>
+ * <li>{@link #SHA_256} is the choice for content from untrusted sources and
+ * the only algorithm accepted as long as any cache has a
+ * {@link CacheSettings.CacheSetting#contentStore() contentStore}.</li>
+ * </ul>
+ */
+public enum ContentDigest {
+
+    /**
+     * MD5 message digest (128 bit).
+     */
+    MD5 {
+        @Override
+        Hasher newHasher() {
+            return new MessageDigestHasher("MD5");
+        }
+    },
+    /**
+     * SHA-256 message digest (256 bit).
+     */
+    SHA_256 {
+        @Override
+        Hasher newHasher() {
+            return new MessageDigestHasher("SHA-256");
+        }
+    },
+    /**
+     * Non-cryptographic MurmurHash3 x64 hash (128 bit, seed {@code 0}).
+     */
+    MURMUR3_128 {
+        @Override
+        Hasher newHasher() {
+            return new Murmur3Hasher();
+        }
+    };
+
+    /**
+     * Determines if crafting content with the same digest as given content
+     * is considered infeasible with reasonable effort.
+     *
+     * @return {@code true} for {@link #SHA_256} only
+     */
+    public boolean isCollisionResistant() {
+        return SHA_256 == this;
+    }
+
+    /**
+     * Determines if {@code digest} was computed by a collision resistant
+     * algorithm. Content may have been digested with another algorithm than
+     * the one configured now, e.g. when it was persisted before the
+     * configuration changed.
+     *
+     * @param digest the digest as hexadecimal string
+     *
+     * @return {@code true} for digests computed by {@link #SHA_256}
+     */
+    public static boolean isCollisionResistantDigest(final String digest) {
+        // SHA_256 is the only algorithm producing 256 bit (64 hex digit) digests
+        return null != digest && 64 == digest.length();
+    }
+
+    /**
+     * Returns the algorithm configured by
+     * {@link CacheSettings#digestAlgorithm()}.
+     *
+     * @return the configured algorithm
+     */
+    public static ContentDigest configured() {
+        return Holder.CONFIGURED;
+    }
+
+    /**
+     * Creates a hasher computing the digest of content fed to it
+     * incrementally.
+     */
+    abstract Hasher newHasher();
+
+    /**
+     * Computes the digest of {@code bytes}.
+     *
+     * @param bytes the content to compute the digest of
+     *
+     * @return the digest as hexadecimal string
+     */
+    public String digest(final byte[] bytes) {
+        final Hasher hasher = newHasher();
+        hasher.update(bytes, 0, bytes.length);
+        return hasher.digest();
+    }
+
+    /**
+     * Incremental computation of a digest. Not thread-safe.
+     */
+    interface Hasher {
+
+        void update(byte[] bytes, int offset, int length);
+
+        /**
+         * Consumes the remaining bytes of {@code buffer}.
+         */
+        void update(ByteBuffer buffer);
+
+        /**
+         * Completes the computation.
+         *
+         * @return the digest as hexadecimal string
+         */
+        String digest();
+    }
+
+    private static final class MessageDigestHasher implements Hasher {
+
+        private final MessageDigest messageDigest;
+
+        private MessageDigestHasher(final String algorithm) {
+            try {
+                this.messageDigest = MessageDigest.getInstance(algorithm);
+            } catch (final NoSuchAlgorithmException ex) {
+                // every Java platform is required to support MD5 and SHA-256
+                throw new IllegalStateException(ex);
+            }
+        }
+
+        @Override
+        public void update(final byte[] bytes, final int offset, final int length) {
+            messageDigest.update(bytes, offset, length);
+        }
+
+        @Override
+        public void update(final ByteBuffer buffer) {
+            messageDigest.update(buffer);
+        }
+
+        @Override
+        public String digest() {
+            return HexFormat.of().formatHex(messageDigest.digest());
+        }
+    }
+
+    /**
+     * MurmurHash3 x64 128 bit variant producing the same digest as the
+     * reference implementation (and Guava's {@code murmur3_128()}).
+     */
+    private static final class Murmur3Hasher implements Hasher {
+
+        private static final VarHandle LONG_LE = MethodHandles.byteArrayViewVarHandle(long[].class, ByteOrder.LITTLE_ENDIAN);
+        private static final int BLOCK_SIZE = 16;
+        private static final long C1 = 0x87c37b91114253d5L;
+        private static final long C2 = 0x4cf5ad432745937fL;
+
+        private final byte[] block = new byte[BLOCK_SIZE];
+        private int blockLength;
+        private long totalLength;
+        private long h1;
+        private long h2;
+
+        @Override
+        public void update(final byte[] bytes, final int offset, final int length) {
+            int position = offset;
+            final int end = offset + length;
+            totalLength += length;
+
+            if (blockLength > 0) {
+                final int count = Math.min(BLOCK_SIZE - blockLength, length);
+                System.arraycopy(bytes, position, block, blockLength, count);
+                blockLength += count;
+                position += count;
+
+                if (BLOCK_SIZE > blockLength) {
+                    return;
+                }
+                mix(block, 0);
+                blockLength = 0;
+            }
+
+            for (; position + BLOCK_SIZE <= end; position += BLOCK_SIZE) {
+                mix(bytes, position);
+            }
+
+            blockLength = end - position;
+            System.arraycopy(bytes, position, block, 0, blockLength);
+        }
+
+        @Override
+        public void update(final ByteBuffer buffer) {
+            if (buffer.hasArray()) {
+                update(buffer.array(), buffer.arrayOffset() + buffer.position(), buffer.remaining());
+                buffer.position(buffer.limit());
+            } else {
+                final byte[] chunk = new byte[Math.min(buffer.remaining(), 8192)];
+
+                while (buffer.hasRemaining()) {
+                    final int count = Math.min(chunk.length, buffer.remaining());
+                    buffer.get(chunk, 0, count);
+                    update(chunk, 0, count);
+                }
+            }
+        }
+
+        private void mix(final byte[] bytes, final int offset) {
+            final long k1 = (long) LONG_LE.get(bytes, offset);
+            final long k2 = (long) LONG_LE.get(bytes, offset + 8);
+
+            h1 ^= mixK1(k1);
+            h1 = Long.rotateLeft(h1, 27);
+            h1 += h2;
+            h1 = h1 * 5 + 0x52dce729;
+
+            h2 ^= mixK2(k2);
+            h2 = Long.rotateLeft(h2, 31);
+            h2 += h1;
+            h2 = h2 * 5 + 0x38495ab5;
+        }
+
+        @Override
+        public String digest() {
+            long k1 = 0;
+            long k2 = 0;
+
+            for (int i = blockLength - 1; i >= 8; i--) {
+                k2 = (k2 << 8) | (block[i] & 0xffL);
+            }
+            for (int i = Math.min(blockLength, 8) - 1; i >= 0; i--) {
+                k1 = (k1 << 8) | (block[i] & 0xffL);
+            }
+
+            h1 ^= mixK1(k1);
+            h2 ^= mixK2(k2);
+
+            h1 ^= totalLength;
+            h2 ^= totalLength;
+            h1 += h2;
+            h2 += h1;
+            h1 = fmix(h1);
+            h2 = fmix(h2);
+            h1 += h2;
+            h2 += h1;
+
+            final byte[] digest = new byte[BLOCK_SIZE];
+            LONG_LE.set(digest, 0, h1);
+            LONG_LE.set(digest, 8, h2);
+            return HexFormat.of().formatHex(digest);
+        }
+
+        private static long mixK1(final long k1) {
+            return Long.rotateLeft(k1 * C1, 31) * C2;
+        }
+
+        private static long mixK2(final long k2) {
+            return Long.rotateLeft(k2 * C2, 33) * C1;
+        }
+
+        private static long fmix(final long k) {
+            long result = k;
+            result ^= result >>> 33;
+            result *= 0xff51afd7ed558ccdL;
+            result ^= result >>> 33;
+            result *= 0xc4ceb9fe1a85ec53L;
+            result ^= result >>> 33;
+            return result;
+        }
+    }
+
+    private static final class Holder {
+
+        private static final ContentDigest CONFIGURED = Configuration.getInstance()
+                .getConfigTyped(CacheSettings.CONFIG_KEY, CacheSettings.class)
+                .digestAlgorithm();
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 TweetWallFX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.tweetwallfx.cache;
+
+/**
+ * Storage of the content of URLs backing a {@link URLContentCacheBase}.
+ */
+interface ContentStore {
+
+    /**
+     * Returns the content stored for {@code urlString}.
+     *
+     * @return the content or {@code null} if none is stored
+     */
+    URLContent get(String urlString);
+
+    /**
+     * Determines if content is stored for {@code urlString}.
+     */
+    boolean containsKey(String urlString);
+
+    /**
+     * Stores {@code content} for {@code urlString}.
+     */
+    void put(String urlString, URLContent content);
+
+    /**
+     * Creates a store holding the content of each URL in {@code cache}.
+     */
+    static ContentStore of(final Cache<String, URLContent> cache) {
+        return new ContentStore() {
+            @Override
+            public URLContent get(final String urlString) {
+                return cache.get(urlString);
+            }
+
+            @Override
+            public boolean containsKey(final String urlString) {
+                return cache.containsKey(urlString);
+            }
+
+            @Override
+            public void put(final String urlString, final URLContent content) {
+                cache.put(urlString, content);
+            }
+        };
+    }
+}
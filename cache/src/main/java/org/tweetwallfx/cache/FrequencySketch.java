@@ -0,0 +1,135 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 TweetWallFX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.tweetwallfx.cache;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * Lock-free, approximate popularity of keys within a time window as used by
+ * the TinyLFU admission policy.
+ *
+ * <p>
+ * The popularity is recorded in a count-min sketch of four bit counters, 16 of
+ * them packed into a {@code long}. Each key is counted in four counters chosen
+ * by different hashes of the key and its frequency is the minimum of them.
+ * Once ten times as many accesses as the sketch has {@code long}s were
+ * recorded, all counters are halved so the popularity of keys ages.
+ */
+final class FrequencySketch {
+
+    private static final long[] SEEDS = {
+        0xc3a5c85c97cb3127L, 0xb492b66fbe98f273L, 0x9ae16a3b2f90404fL, 0xcbf29ce484222325L};
+    private static final long RESET_MASK = 0x7777777777777777L;
+    private static final int MAX_COUNT = 15;
+
+    private final AtomicLongArray table;
+    private final int sampleSize;
+    private final AtomicInteger additions = new AtomicInteger();
+
+    /**
+     * Creates a sketch for the popularity of about {@code maxEntries} keys.
+     */
+    FrequencySketch(final int maxEntries) {
+        final int length = Integer.highestOneBit(Math.max(8, maxEntries) - 1) << 1;
+        this.table = new AtomicLongArray(length);
+        this.sampleSize = 10 * length;
+    }
+
+    /**
+     * Returns the estimated number of accesses of {@code key} (at most
+     * {@code 15}).
+     */
+    int frequency(final Object key) {
+        final int hash = spread(key.hashCode());
+        int frequency = MAX_COUNT;
+
+        for (int i = 0; i < SEEDS.length; i++) {
+            final int index = indexOf(hash, i);
+            final int offset = offsetOf(hash, i);
+            frequency = Math.min(frequency, (int) ((table.get(index) >>> offset) & 0xfL));
+        }
+
+        return frequency;
+    }
+
+    /**
+     * Records an access of {@code key}.
+     */
+    void increment(final Object key) {
+        final int hash = spread(key.hashCode());
+        boolean added = false;
+
+        for (int i = 0; i < SEEDS.length; i++) {
+            added |= incrementAt(indexOf(hash, i), offsetOf(hash, i));
+        }
+
+        // exactly one of the threads concurrently recording accesses reaches the sample size
+        if (added && sampleSize == additions.incrementAndGet()) {
+            additions.addAndGet(-sampleSize);
+            reset();
+        }
+    }
+
+    private boolean incrementAt(final int index, final int offset) {
+        final long mask = 0xfL << offset;
+
+        while (true) {
+            final long current = table.get(index);
+
+            if ((current & mask) == mask) {
+                return false;
+            }
+
+            if (table.compareAndSet(index, current, current + (1L << offset))) {
+                return true;
+            }
+        }
+    }
+
+    private void reset() {
+        for (int i = 0; i < table.length(); i++) {
+            long current;
+
+            do {
+                current = table.get(i);
+            } while (!table.compareAndSet(i, current, (current >>> 1) & RESET_MASK));
+        }
+    }
+
+    private int indexOf(final int hash, final int i) {
+        final long h = (hash + SEEDS[i]) * SEEDS[i];
+        return (int) ((h + (h >>> 32)) & (table.length() - 1));
+    }
+
+    private static int offsetOf(final int hash, final int i) {
+        // counter i of the key is one of the four counters of the long reserved for counter i
+        return ((i << 2) + ((hash >>> (i << 3)) & 3)) << 2;
+    }
+
+    private static int spread(final int hashCode) {
+        final int h = hashCode * 0x9e3779b9;
+        return h ^ (h >>> 16);
+    }
+}
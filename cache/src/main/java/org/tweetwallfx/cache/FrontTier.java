@@ -0,0 +1,467 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 TweetWallFX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.tweetwallfx.cache;
+
+import java.time.Clock;
+import java.util.Queue;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentLinkedQueue;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.function.ToLongFunction;
+
+/**
+ * Bounded in-process tier in front of the ehcache store of a {@link Cache}
+ * with a W-TinyLFU eviction policy.
+ *
+ * <p>
+ * Lookups never block: entries are held in a {@link ConcurrentHashMap},
+ * accesses are recorded in a lock-free {@link FrequencySketch} and hits are
+ * buffered to be replayed on the regions later. New entries enter a small LRU
+ * window (one percent of the capacity). Entries leaving the window compete
+ * with the least recently used entries of the probation segment of the main
+ * region and the one accessed less frequently is evicted, until the entry
+ * either lost or made room for its own weight. Entries hit while
+ * in probation are promoted to the protected segment (80 percent of the main
+ * region), whose least recently used entries are demoted to probation again.
+ * Buffered hits, added and removed entries are applied to the regions by
+ * whichever thread finds the regions unlocked, so removed entries stop
+ * counting towards the capacity without waiting to be evicted.
+ *
+ * <p>
+ * The capacity is {@code maxEntries} entries. In case {@code maxMegaBytes} is
+ * configured and the tier is given a weigher for its values, it is
+ * additionally bounded by the weight of the values in bytes. Values weighing
+ * more than that are not held at all.
+ *
+ * <p>
+ * The tier does not see entries expiring or being evicted from the ehcache
+ * store, so entries are served for at most {@code maxAge} before the store is
+ * consulted again.
+ *
+ * @param <K> the type of key
+ * @param <V> the type of value
+ */
+final class FrontTier<K, V> {
+
+    private static final int READ_BUFFER_SIZE = 128;
+    private static final int READ_BUFFER_DRAIN_THRESHOLD = 32;
+
+    private final ConcurrentMap<K, Node<K, V>> data = new ConcurrentHashMap<>();
+    private final FrequencySketch sketch;
+    private final Queue<Node<K, V>> reads = new ConcurrentLinkedQueue<>();
+    private final AtomicInteger pendingReads = new AtomicInteger();
+    private final Queue<Node<K, V>> added = new ConcurrentLinkedQueue<>();
+    private final Queue<Node<K, V>> removed = new ConcurrentLinkedQueue<>();
+    private final ReentrantLock evictionLock = new ReentrantLock();
+    private final AccessOrder<K, V> window = new AccessOrder<>();
+    private final AccessOrder<K, V> probation = new AccessOrder<>();
+    private final AccessOrder<K, V> protectedSegment = new AccessOrder<>();
+    private final ToLongFunction<? super V> weigher;
+    private final int maxEntries;
+    private final long maxWeight;
+    private final long maxWindowWeight;
+    private final long maxProtectedWeight;
+    private final long maxAgeMillis;
+    private final Clock clock;
+    private final AtomicLong invalidations = new AtomicLong();
+
+    FrontTier(final CacheSettings.FrontTierSetting setting, final Clock clock) {
+        this(setting, null, clock);
+    }
+
+    /**
+     * Creates a front tier.
+     *
+     * @param setting the setting of the front tier
+     *
+     * @param weigher the weigher returning the size of a value in bytes or
+     * {@code null} in case the tier is to be bounded by the number of entries
+     * only
+     *
+     * @param clock the clock determining the age of the entries
+     */
+    FrontTier(final CacheSettings.FrontTierSetting setting, final ToLongFunction<? super V> weigher, final Clock clock) {
+        this.sketch = new FrequencySketch(setting.maxEntries());
+        this.maxEntries = setting.maxEntries();
+
+        if (null == weigher || null == setting.maxMegaBytes()) {
+            this.weigher = value -> 1L;
+            this.maxWeight = setting.maxEntries();
+        } else {
+            this.weigher = weigher;
+            this.maxWeight = setting.maxMegaBytes() * 1024L * 1024L;
+        }
+
+        this.maxWindowWeight = Math.max(1, maxWeight / 100);
+        this.maxProtectedWeight = (maxWeight - maxWindowWeight) * 4 / 5;
+        this.maxAgeMillis = setting.produceMaxAge().toMillis();
+        this.clock = clock;
+    }
+
+    /**
+     * Returns the value of {@code key} held by this tier.
+     *
+     * @param key the key whose value to return
+     *
+     * @return the value or {@code null} if this tier holds none
+     */
+    V get(final K key) {
+        sketch.increment(key);
+        final Node<K, V> node = data.get(key);
+
+        if (null == node) {
+            return null;
+        } else if (clock.millis() - node.createdAt > maxAgeMillis) {
+            remove(node);
+            maintain();
+            return null;
+        }
+
+        recordHit(node);
+        return node.value;
+    }
+
+    /**
+     * Returns a stamp to be passed to {@link #add(Object, Object, long)}
+     * before reading a value from the ehcache store.
+     *
+     * @return the stamp
+     */
+    long stamp() {
+        return invalidations.get();
+    }
+
+    /**
+     * Adds the {@code value} read from the ehcache store for {@code key}
+     * unless any key was invalidated since {@code stamp} was taken, as the
+     * value might be outdated already.
+     *
+     * @param key the key of the value
+     *
+     * @param value the value read from the ehcache store
+     *
+     * @param stamp the {@link #stamp()} taken before reading the value
+     */
+    void add(final K key, final V value, final long stamp) {
+        final Node<K, V> node = new Node<>(key, value, weigher.applyAsLong(value), clock.millis());
+        final Node<K, V> previous = data.put(key, node);
+
+        if (null != previous) {
+            retire(previous);
+        }
+
+        if (stamp == invalidations.get()) {
+            added.add(node);
+        } else {
+            remove(node);
+        }
+
+        maintain();
+    }
+
+    /**
+     * Invalidates the value of {@code key}. Must be called after the value was
+     * changed in the ehcache store.
+     *
+     * @param key the key whose value to invalidate
+     */
+    void invalidate(final K key) {
+        invalidations.incrementAndGet();
+        final Node<K, V> node = data.remove(key);
+
+        if (null != node) {
+            retire(node);
+            maintain();
+        }
+    }
+
+    /**
+     * Invalidates all values.
+     */
+    void invalidateAll() {
+        invalidations.incrementAndGet();
+        data.values().forEach(this::remove);
+        maintain();
+    }
+
+    /**
+     * Returns the number of entries this tier holds.
+     */
+    int size() {
+        return data.size();
+    }
+
+    /**
+     * Returns the weight of the entries held by the regions of this tier,
+     * which is their number unless the tier is bounded by the weight of its
+     * values.
+     */
+    long weight() {
+        evictionLock.lock();
+
+        try {
+            return window.weight + probation.weight + protectedSegment.weight;
+        } finally {
+            evictionLock.unlock();
+        }
+    }
+
+    private void remove(final Node<K, V> node) {
+        if (data.remove(node.key, node)) {
+            retire(node);
+        }
+    }
+
+    /**
+     * Marks {@code node} removed from the data and queues it to be unlinked
+     * from its region.
+     */
+    private void retire(final Node<K, V> node) {
+        node.removed = true;
+        removed.add(node);
+    }
+
+    private void recordHit(final Node<K, V> node) {
+        if (pendingReads.incrementAndGet() > READ_BUFFER_SIZE) {
+            // the buffer is full, so the hit is only recorded by the sketch
+            pendingReads.decrementAndGet();
+        } else {
+            reads.add(node);
+        }
+
+        if (pendingReads.get() >= READ_BUFFER_DRAIN_THRESHOLD) {
+            maintain();
+        }
+    }
+
+    private void maintain() {
+        // work queued while the lock is held is done by the thread holding it
+        do {
+            if (!evictionLock.tryLock()) {
+                return;
+            }
+
+            try {
+                drainReads();
+                drainAdded();
+                drainRemoved();
+                evict();
+            } finally {
+                evictionLock.unlock();
+            }
+        } while (!added.isEmpty() || !removed.isEmpty());
+    }
+
+    private void drainReads() {
+        Node<K, V> node;
+
+        for (int i = 0; i < READ_BUFFER_SIZE && null != (node = reads.poll()); i++) {
+            pendingReads.decrementAndGet();
+
+            if (node.removed) {
+                continue;
+            } else if (window == node.order) {
+                window.moveToLast(node);
+            } else if (probation == node.order) {
+                probation.unlink(node);
+                protectedSegment.linkLast(node);
+                demoteProtected();
+            } else if (protectedSegment == node.order) {
+                protectedSegment.moveToLast(node);
+            }
+        }
+    }
+
+    private void drainAdded() {
+        Node<K, V> node;
+
+        while (null != (node = added.poll())) {
+            if (node.removed) {
+                continue;
+            } else if (node.weight > maxWeight) {
+                // would evict all other entries without fitting itself
+                remove(node);
+            } else {
+                window.linkLast(node);
+            }
+        }
+    }
+
+    private void drainRemoved() {
+        Node<K, V> node;
+
+        while (null != (node = removed.poll())) {
+            if (null != node.order) {
+                node.order.unlink(node);
+            }
+        }
+    }
+
+    private void demoteProtected() {
+        while (protectedSegment.weight > maxProtectedWeight) {
+            final Node<K, V> node = protectedSegment.first;
+            protectedSegment.unlink(node);
+            probation.linkLast(node);
+        }
+    }
+
+    private void evict() {
+        Node<K, V> candidate = null;
+
+        // entries leaving the window become candidates at the end of probation
+        while (window.weight > maxWindowWeight) {
+            final Node<K, V> node = window.first;
+            window.unlink(node);
+            probation.linkLast(node);
+
+            if (null == candidate) {
+                candidate = node;
+            }
+        }
+
+        // a candidate displaces victims until it loses or has made room for its own weight
+        long displaced = 0;
+
+        while (isOverCapacity()) {
+            final Node<K, V> victim = nextVictim(candidate);
+
+            if (null == candidate) {
+                evict(victim);
+            } else if (null != victim && sketch.frequency(candidate.key) > sketch.frequency(victim.key)) {
+                displaced += victim.weight;
+                evict(victim);
+
+                if (displaced >= candidate.weight) {
+                    candidate = candidate.next;
+                    displaced = 0;
+                }
+            } else {
+                final Node<K, V> next = candidate.next;
+                evict(candidate);
+                candidate = next;
+                displaced = 0;
+            }
+        }
+    }
+
+    private Node<K, V> nextVictim(final Node<K, V> candidate) {
+        // the candidates are at the end of probation, so any other entry of probation precedes them
+        if (null != probation.first && probation.first != candidate) {
+            return probation.first;
+        }
+
+        return null != protectedSegment.first
+                ? protectedSegment.first
+                : window.first;
+    }
+
+    private boolean isOverCapacity() {
+        return window.weight + probation.weight + protectedSegment.weight > maxWeight
+                || window.size + probation.size + protectedSegment.size > maxEntries;
+    }
+
+    private void evict(final Node<K, V> node) {
+        node.order.unlink(node);
+        node.removed = true;
+        data.remove(node.key, node);
+    }
+
+    private static final class Node<K, V> {
+
+        private final K key;
+        private final V value;
+        private final long weight;
+        private final long createdAt;
+        private volatile boolean removed;
+        // guarded by the eviction lock
+        private AccessOrder<K, V> order;
+        private Node<K, V> prev;
+        private Node<K, V> next;
+
+        private Node(final K key, final V value, final long weight, final long createdAt) {
+            this.key = key;
+            this.value = value;
+            this.weight = weight;
+            this.createdAt = createdAt;
+        }
+    }
+
+    /**
+     * Doubly linked nodes of a region from the least to the most recently
+     * accessed one. Guarded by the eviction lock.
+     */
+    private static final class AccessOrder<K, V> {
+
+        private Node<K, V> first;
+        private Node<K, V> last;
+        private long weight;
+        private int size;
+
+        private void linkLast(final Node<K, V> node) {
+            node.order = this;
+            node.prev = last;
+            node.next = null;
+
+            if (null == last) {
+                first = node;
+            } else {
+                last.next = node;
+            }
+
+            last = node;
+            weight += node.weight;
+            size++;
+        }
+
+        private void unlink(final Node<K, V> node) {
+            if (null == node.prev) {
+                first = node.next;
+            } else {
+                node.prev.next = node.next;
+            }
+
+            if (null == node.next) {
+                last = node.prev;
+            } else {
+                node.next.prev = node.prev;
+            }
+
+            node.order = null;
+            node.prev = null;
+            node.next = null;
+            weight -= node.weight;
+            size--;
+        }
+
+        private void moveToLast(final Node<K, V> node) {
+            if (last != node) {
+                unlink(node);
+                linkLast(node);
+            }
+        }
+    }
+}
@@ -0,0 +1,102 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 TweetWallFX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.tweetwallfx.cache;
+
+import org.ehcache.config.ResourceUnit;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.core.spi.store.Store;
+import org.ehcache.core.spi.store.heap.SizeOfEngine;
+import org.ehcache.core.spi.store.heap.SizeOfEngineProvider;
+import org.ehcache.spi.service.Service;
+import org.ehcache.spi.service.ServiceConfiguration;
+import org.ehcache.spi.service.ServiceProvider;
+
+/**
+ * Sizes the entries of heap tiers sized in memory units by the
+ * {@link HeapSized#heapSize()} of their values instead of walking their
+ * object graphs via reflection.
+ */
+final class HeapSizeOfEngineProvider implements SizeOfEngineProvider {
+
+    /**
+     * Estimated heap memory of the store entry and the value holder of a
+     * mapping.
+     */
+    static final long ENTRY_OVERHEAD = 96;
+    private static final long STRING_OVERHEAD = 40;
+
+    private static final SizeOfEngine ENTRY_COUNT = new SizeOfEngine() {
+        @Override
+        public <K, V> long sizeof(final K key, final Store.ValueHolder<V> holder) {
+            return 1L;
+        }
+    };
+
+    private static final SizeOfEngine HEAP_SIZE = new SizeOfEngine() {
+        @Override
+        public <K, V> long sizeof(final K key, final Store.ValueHolder<V> holder) {
+            return ENTRY_OVERHEAD + sizeOfKey(key) + ((HeapSized) holder.get()).heapSize();
+        }
+    };
+
+    @Override
+    public SizeOfEngine createSizeOfEngine(final ResourceUnit resourceUnit, final ServiceConfiguration<?, ?>... serviceConfigs) {
+        return resourceUnit instanceof MemoryUnit
+                ? HEAP_SIZE
+                : ENTRY_COUNT;
+    }
+
+    @Override
+    public void start(final ServiceProvider<Service> serviceProvider) {
+        // nothing to start
+    }
+
+    @Override
+    public void stop() {
+        // nothing to stop
+    }
+
+    /**
+     * Returns the estimated amount of heap memory in bytes {@code string}
+     * occupies.
+     *
+     * @param string the string to size
+     *
+     * @return the estimated amount of heap memory in bytes or {@code 0} for
+     * {@code null}
+     */
+    static long sizeOf(final String string) {
+        // assumes compact (one byte per character) strings, as used for URLs, digests and validators
+        return null == string ? 0 : STRING_OVERHEAD + string.length();
+    }
+
+    private static long sizeOfKey(final Object key) {
+        if (key instanceof HeapSized heapSized) {
+            return heapSized.heapSize();
+        }
+
+        // keys of other types are not accounted for
+        return key instanceof String string ? sizeOf(string) : 0;
+    }
+}
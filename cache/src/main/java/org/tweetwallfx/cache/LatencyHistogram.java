@@ -0,0 +1,94 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 TweetWallFX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.tweetwallfx.cache;
+
+import java.util.concurrent.atomic.AtomicLongArray;
+import java.util.concurrent.atomic.LongAccumulator;
+
+/**
+ * Lock-free histogram of latencies with buckets of exponentially growing
+ * width. Bucket {@code i} counts latencies of {@code 2^(i-1)} (inclusive) to
+ * {@code 2^i} (exclusive) microseconds, so percentiles are reported with a
+ * precision of a factor of two.
+ */
+final class LatencyHistogram {
+
+    private static final int BUCKETS = Long.SIZE;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKETS);
+    private final LongAccumulator maxMicros = new LongAccumulator(Math::max, 0);
+
+    void record(final long nanos) {
+        final long micros = Math.max(0, nanos / 1_000);
+        buckets.incrementAndGet(BUCKETS - Long.numberOfLeadingZeros(micros));
+        maxMicros.accumulate(micros);
+    }
+
+    long count() {
+        long count = 0;
+
+        for (int i = 0; i < BUCKETS; i++) {
+            count += buckets.get(i);
+        }
+
+        return count;
+    }
+
+    /**
+     * Returns an upper bound of the latency within which {@code percentile}
+     * of the recorded latencies lie.
+     *
+     * @param percentile the percentile between {@code 0} and {@code 1}
+     *
+     * @return the latency in milliseconds or {@code 0} if no latency has been
+     * recorded yet
+     */
+    double percentileMillis(final double percentile) {
+        final long[] counts = new long[BUCKETS];
+        long total = 0;
+
+        for (int i = 0; i < BUCKETS; i++) {
+            counts[i] = buckets.get(i);
+            total += counts[i];
+        }
+
+        final long rank = (long) Math.ceil(percentile * total);
+        long cumulative = 0;
+
+        for (int i = 0; i < BUCKETS; i++) {
+            cumulative += counts[i];
+
+            if (cumulative >= rank && counts[i] > 0) {
+                final long upperBoundMicros = i < BUCKETS - 1 ? 1L << i : Long.MAX_VALUE;
+                return Math.min(upperBoundMicros, maxMicros.get()) / 1_000d;
+            }
+        }
+
+        return 0;
+    }
+
+    double maxMillis() {
+        return maxMicros.get() / 1_000d;
+    }
+}
@@ -0,0 +1,154 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 TweetWallFX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.tweetwallfx.cache;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.atomic.LongAdder;
+
+/**
+ * Bounded record of URLs whose content recently failed to load.
+ *
+ * <p>
+ * After a failure loading the URL is not retried before a backoff period has
+ * passed. The backoff starts with the initial backoff and doubles with every
+ * further failure up to the maximum TTL. A failure older than the maximum TTL
+ * no longer counts towards the backoff. The least recently failed URLs are
+ * forgotten once the maximum number of entries is exceeded.
+ */
+final class NegativeCache {
+
+    private final Duration initialBackoff;
+    private final Duration maxTtl;
+    private final Clock clock;
+    private final Map<String, Failure> failures;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    NegativeCache(final CacheSettings.NegativeCaching negativeCaching, final Clock clock) {
+        this.initialBackoff = negativeCaching.produceInitialBackoff();
+        this.maxTtl = negativeCaching.produceMaxTtl();
+        this.clock = clock;
+        this.failures = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<String, Failure> eldest) {
+                return size() > negativeCaching.maxEntries();
+            }
+        };
+    }
+
+    /**
+     * Checks whether loading {@code urlString} is currently backed off.
+     *
+     * @param urlString the URL to check
+     *
+     * @return the exception to fail a load of {@code urlString} with or
+     * {@code null} if the URL may be loaded
+     */
+    synchronized BackoffException getFailure(final String urlString) {
+        final Failure failure = failures.get(urlString);
+
+        if (null == failure || !clock.instant().isBefore(failure.retryAt())) {
+            misses.increment();
+            return null;
+        }
+
+        hits.increment();
+        return new BackoffException("Loading " + urlString + " failed " + failure.count()
+                + " time(s), not retrying before " + failure.retryAt(), failure.cause());
+    }
+
+    /**
+     * Checks whether loading {@code urlString} is currently backed off without
+     * counting the check as a hit or miss.
+     *
+     * @param urlString the URL to check
+     *
+     * @return {@code true} if loading the URL is backed off
+     */
+    synchronized boolean isBackedOff(final String urlString) {
+        final Failure failure = failures.get(urlString);
+
+        return null != failure && clock.instant().isBefore(failure.retryAt());
+    }
+
+    synchronized void failed(final String urlString, final IOException cause) {
+        final Instant now = clock.instant();
+        final Failure previous = failures.get(urlString);
+        final int count = null == previous || now.isAfter(previous.retryAt().plus(maxTtl))
+                ? 1
+                : previous.count() + 1;
+
+        failures.put(urlString, new Failure(count, now.plus(backoff(count)), cause));
+    }
+
+    synchronized void succeeded(final String urlString) {
+        failures.remove(urlString);
+    }
+
+    synchronized int size() {
+        return failures.size();
+    }
+
+    long hitCount() {
+        return hits.sum();
+    }
+
+    long missCount() {
+        return misses.sum();
+    }
+
+    private Duration backoff(final int count) {
+        final Duration backoff = initialBackoff.multipliedBy(1L << Math.min(count - 1, 30));
+
+        return backoff.compareTo(maxTtl) > 0
+                ? maxTtl
+                : backoff;
+    }
+
+    /**
+     * Signals that loading a URL was not attempted since it is backed off due
+     * to previous failures.
+     */
+    static final class BackoffException extends IOException {
+
+        private static final long serialVersionUID = 1L;
+
+        private BackoffException(final String message, final IOException cause) {
+            super(message, cause);
+        }
+    }
+
+    private static record Failure(
+            int count,
+            Instant retryAt,
+            IOException cause) {
+    }
+}
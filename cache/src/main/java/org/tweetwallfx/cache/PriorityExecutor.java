@@ -0,0 +1,223 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 TweetWallFX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.tweetwallfx.cache;
+
+import java.util.Comparator;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.Executor;
+import java.util.concurrent.PriorityBlockingQueue;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.ThreadPoolExecutor;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * Executor starting waiting tasks in order of their {@link LoadPriority} and,
+ * within the same priority, in order of their submission. Tasks submitted via
+ * {@link #execute(Runnable)} have the priority {@link LoadPriority#NEXT}.
+ *
+ * <p>
+ * Tasks are either run by a {@link #fixedThreadPool(int, ThreadFactory) fixed
+ * pool of threads} or each on a {@link #threadPerTask(int, ThreadFactory) new
+ * thread}, with at most a given number of them running at the same time.
+ */
+abstract class PriorityExecutor implements Executor {
+
+    private static final Comparator<Runnable> ORDER = Comparator
+            .comparing((Runnable r) -> ((Task) r).priority)
+            .thenComparingLong(r -> ((Task) r).sequence);
+
+    private final AtomicLong sequence = new AtomicLong();
+
+    private PriorityExecutor() {
+        // prevent external subclassing
+    }
+
+    /**
+     * Creates an executor running tasks on {@code nrThreads} threads created
+     * by {@code threadFactory}.
+     */
+    static PriorityExecutor fixedThreadPool(final int nrThreads, final ThreadFactory threadFactory) {
+        return new FixedThreadPool(nrThreads, threadFactory);
+    }
+
+    /**
+     * Creates an executor running each task on a new thread created by
+     * {@code threadFactory} with at most {@code maxConcurrentTasks} tasks
+     * running at the same time.
+     */
+    static PriorityExecutor threadPerTask(final int maxConcurrentTasks, final ThreadFactory threadFactory) {
+        return new ThreadPerTask(maxConcurrentTasks, threadFactory);
+    }
+
+    @Override
+    public final void execute(final Runnable command) {
+        execute(command, LoadPriority.NEXT);
+    }
+
+    /**
+     * Executes {@code command} with the given {@code priority}.
+     *
+     * @return the task executing the command, to be passed to
+     * {@link #promote(Task, LoadPriority)}
+     */
+    final Task execute(final Runnable command, final LoadPriority priority) {
+        final Task task = new Task(command, priority, sequence.getAndIncrement());
+        submit(task);
+        return task;
+    }
+
+    /**
+     * Raises the priority of {@code task} to {@code priority} in case it is
+     * still waiting to be started with a lower priority.
+     */
+    final void promote(final Task task, final LoadPriority priority) {
+        if (priority.compareTo(task.priority) < 0 && queue().remove(task)) {
+            // keeps its sequence, so it is started before tasks submitted with that priority later on
+            task.priority = priority;
+            submit(task);
+        }
+    }
+
+    /**
+     * Takes {@code task} off the waiting tasks, so the calling thread can run
+     * it itself instead of waiting for it to be started.
+     *
+     * @return {@code true} if the task was still waiting to be started and
+     * has to be run by the caller
+     */
+    final boolean takeOver(final Task task) {
+        return queue().remove(task);
+    }
+
+    /**
+     * Returns the number of tasks waiting to be started.
+     */
+    final int getQueueSize() {
+        return queue().size();
+    }
+
+    /**
+     * Returns the queue of the tasks waiting to be started.
+     */
+    abstract BlockingQueue<Runnable> queue();
+
+    /**
+     * Starts {@code task} or adds it to the {@link #queue()} of waiting tasks.
+     */
+    abstract void submit(Task task);
+
+    static final class Task implements Runnable {
+
+        private final Runnable command;
+        private final long sequence;
+        private volatile LoadPriority priority;
+
+        private Task(final Runnable command, final LoadPriority priority, final long sequence) {
+            this.command = command;
+            this.priority = priority;
+            this.sequence = sequence;
+        }
+
+        @Override
+        public void run() {
+            command.run();
+        }
+    }
+
+    private static final class FixedThreadPool extends PriorityExecutor {
+
+        private final ThreadPoolExecutor executor;
+
+        private FixedThreadPool(final int nrThreads, final ThreadFactory threadFactory) {
+            this.executor = new ThreadPoolExecutor(
+                    nrThreads,
+                    nrThreads,
+                    0L,
+                    TimeUnit.MILLISECONDS,
+                    new PriorityBlockingQueue<>(11, ORDER),
+                    threadFactory);
+        }
+
+        @Override
+        BlockingQueue<Runnable> queue() {
+            return executor.getQueue();
+        }
+
+        @Override
+        void submit(final Task task) {
+            executor.execute(task);
+        }
+    }
+
+    private static final class ThreadPerTask extends PriorityExecutor {
+
+        private final BlockingQueue<Runnable> queue = new PriorityBlockingQueue<>(11, ORDER);
+        private final Semaphore permits;
+        private final ThreadFactory threadFactory;
+
+        private ThreadPerTask(final int maxConcurrentTasks, final ThreadFactory threadFactory) {
+            this.permits = new Semaphore(maxConcurrentTasks);
+            this.threadFactory = threadFactory;
+        }
+
+        @Override
+        BlockingQueue<Runnable> queue() {
+            return queue;
+        }
+
+        @Override
+        void submit(final Task task) {
+            queue.add(task);
+            startWaitingTasks();
+        }
+
+        private void startWaitingTasks() {
+            // the queue is checked again after a permit was released, so a task added meanwhile is not left waiting
+            while (!queue.isEmpty() && permits.tryAcquire()) {
+                final Runnable task = queue.poll();
+
+                if (null == task) {
+                    permits.release();
+                } else {
+                    start(task);
+                }
+            }
+        }
+
+        private void start(final Runnable task) {
+            final Thread thread = threadFactory.newThread(() -> {
+                try {
+                    task.run();
+                } finally {
+                    permits.release();
+                    startWaitingTasks();
+                }
+            });
+
+            thread.start();
+        }
+    }
+}
@@ -27,66 +27,315 @@ import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
 import java.io.ByteArrayInputStream;
-import java.io.ByteArrayOutputStream;
 import java.io.IOException;
 import java.io.InputStream;
 import java.io.Serializable;
 import java.net.URL;
-import java.security.MessageDigest;
-import java.security.NoSuchAlgorithmException;
+import java.nio.ByteBuffer;
+import java.time.Instant;
 import java.util.Arrays;
-import java.util.HexFormat;
 import java.util.Objects;
 
-public record URLContent(
-        byte[] data,
-        String digest) implements Serializable {
+/**
+ * Immutable content loaded from an URL together with its digest.
+ *
+ * <p>
+ * Content loaded via HTTP additionally carries the {@code ETag} and
+ * {@code Last-Modified} validators of the response and the time it was loaded
+ * (or last revalidated), so it can be revalidated with a conditional request
+ * once it is stale.
+ *
+ * <p>
+ * {@link #data()} hands out a copy of the content. Code only reading the
+ * content should use {@link #getInputStream()} or {@link #asByteBuffer()},
+ * which both give read-only access to the content without copying it.
+ */
+public final class URLContent implements HeapSized, Serializable {
+
+    // serialVersionUID of the former record, so content persisted by it stays readable
+    private static final long serialVersionUID = 0L;
 
     public static final URLContent NO_CONTENT = new URLContent(new byte[0], "d41d8cd98f00b204e9800998ecf8427e");
 
     private static final Logger LOG = LogManager.getLogger();
+    // object header and fields of the content, object header of its array and the Instant it was loaded at
+    private static final long OVERHEAD = 40 + 16 + 24;
+
+    private final byte[] data;
+    private final String digest;
+    private final String etag;
+    private final String lastModified;
+    private final Instant loadedAt;
 
     public URLContent(
             final byte[] data,
             final String digest) {
-        this.data = Arrays.copyOf(data, data.length);
+        this(Arrays.copyOf(data, data.length), digest, null, null, null);
+    }
+
+    /**
+     * Creates content taking ownership of {@code data} without copying it.
+     * The array must not be modified afterwards.
+     */
+    private URLContent(
+            final byte[] data,
+            final String digest,
+            final String etag,
+            final String lastModified,
+            final Instant loadedAt) {
+        this.data = data;
         this.digest = digest;
+        this.etag = etag;
+        this.lastModified = lastModified;
+        this.loadedAt = loadedAt;
+    }
+
+    /**
+     * Creates content taking ownership of {@code data} without copying it.
+     * Callers must not modify the array afterwards.
+     */
+    static URLContent wrap(
+            final byte[] data,
+            final String digest,
+            final String etag,
+            final String lastModified,
+            final Instant loadedAt) {
+        return new URLContent(data, digest, etag, lastModified, loadedAt);
     }
 
     public static URLContent of(final InputStream in) throws IOException {
         LOG.debug("Loading content from: {}", in);
-        final ByteArrayOutputStream bout = new ByteArrayOutputStream();
-        in.transferTo(bout);
-        byte[] bytes = bout.toByteArray();
-        String digest = null;
-        try {
-            digest = HexFormat.of().formatHex(MessageDigest.getInstance("md5").digest(bytes));
-            LOG.info("MD5: {}", digest);
-        } catch (NoSuchAlgorithmException ex) {
-            LOG.warn("Failed to create digest for {}", in, ex);
-        }
-        return new URLContent(bytes, digest);
+        // the digest is computed while reading instead of in a second pass over the content
+        final ContentDigest.Hasher hasher = ContentDigest.configured().newHasher();
+        final byte[] bytes = new HashingInputStream(in, hasher).readAllBytes();
+        return new URLContent(bytes, hasher.digest(), null, null, Instant.now());
     }
 
+    /**
+     * Loads the content of {@code urlString}. HTTP(S) URLs are loaded with a
+     * shared HTTP client, all others via {@link URL#openStream()}.
+     *
+     * @param urlString the string of the URL to load
+     *
+     * @return the loaded content
+     *
+     * @throws IOException in case loading the content failed
+     */
     public static URLContent of(final String urlString) throws IOException {
+        if (URLContentLoader.isHttp(urlString)) {
+            return URLContentLoader.getInstance().load(urlString);
+        }
+
         try (InputStream in = new URL(urlString).openStream()) {
             return of(in);
         }
     }
 
-    @Override
+    /**
+     * Revalidates the {@code cached} content of {@code urlString}. HTTP(S)
+     * URLs are revalidated with a conditional request, all others are loaded
+     * again.
+     */
+    static URLContent revalidate(final String urlString, final URLContent cached) throws IOException {
+        return URLContentLoader.isHttp(urlString)
+                ? URLContentLoader.getInstance().revalidate(urlString, cached)
+                : of(urlString);
+    }
+
+    /**
+     * Creates content from {@code bytes} loaded from {@code source} taking
+     * ownership of the array.
+     */
+    static URLContent of(final byte[] bytes, final Object source) {
+        return of(bytes, source, null, null);
+    }
+
+    /**
+     * Creates content from {@code bytes} loaded from {@code source} with the
+     * given validators taking ownership of the array.
+     */
+    static URLContent of(final byte[] bytes, final Object source, final String etag, final String lastModified) {
+        final String digest = ContentDigest.configured().digest(bytes);
+        LOG.debug("Digest of {}: {}", source, digest);
+        return new URLContent(bytes, digest, etag, lastModified, Instant.now());
+    }
+
+    /**
+     * Returns a copy of the content.
+     *
+     * @return a copy of the content
+     */
     public byte[] data() {
         return Arrays.copyOf(data, data.length);
     }
 
+    public String digest() {
+        return digest;
+    }
+
+    /**
+     * Returns the {@code ETag} the content was served with.
+     *
+     * @return the {@code ETag} or {@code null} if none is known
+     */
+    public String etag() {
+        return etag;
+    }
+
+    /**
+     * Returns the {@code Last-Modified} date the content was served with.
+     *
+     * @return the {@code Last-Modified} date or {@code null} if none is known
+     */
+    public String lastModified() {
+        return lastModified;
+    }
+
+    /**
+     * Returns the point in time the content was loaded or last revalidated.
+     *
+     * @return the point in time or {@code null} if it is not known
+     */
+    public Instant loadedAt() {
+        return loadedAt;
+    }
+
+    /**
+     * Returns this content marked as revalidated now.
+     */
+    URLContent revalidated() {
+        return new URLContent(data, digest, etag, lastModified, Instant.now());
+    }
+
+    /**
+     * Returns the digest, validators and load time of this content without
+     * its data.
+     */
+    URLContent withoutData() {
+        return new URLContent(NO_CONTENT.data, digest, etag, lastModified, loadedAt);
+    }
+
+    /**
+     * Returns the data of this content without its validators and load time.
+     */
+    URLContent withoutMetadata() {
+        return new URLContent(data, digest, null, null, null);
+    }
+
+    /**
+     * Returns this content with the data of {@code content} sharing its array.
+     */
+    URLContent withDataOf(final URLContent content) {
+        return new URLContent(content.data, digest, etag, lastModified, loadedAt);
+    }
+
+    /**
+     * Determines if this content and {@code content} share the same array,
+     * e.g. because one is the other marked as revalidated.
+     */
+    boolean sharesDataWith(final URLContent content) {
+        return data == content.data;
+    }
+
+    /**
+     * Returns the length of the content in bytes.
+     *
+     * @return the length of the content in bytes
+     */
+    public int length() {
+        return data.length;
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * The array of the content is accounted for in full, even if it is shared
+     * with other content.
+     */
+    @Override
+    public long heapSize() {
+        return OVERHEAD
+                + data.length
+                + HeapSizeOfEngineProvider.sizeOf(digest)
+                + HeapSizeOfEngineProvider.sizeOf(etag)
+                + HeapSizeOfEngineProvider.sizeOf(lastModified);
+    }
+
+    /**
+     * Returns a stream reading the content without copying it.
+     *
+     * @return a stream reading the content
+     */
     public InputStream getInputStream() {
         return new ByteArrayInputStream(data);
     }
 
+    /**
+     * Returns a read-only view of the content without copying it.
+     *
+     * @return a read-only view of the content
+     */
+    public ByteBuffer asByteBuffer() {
+        return ByteBuffer.wrap(data).asReadOnlyBuffer();
+    }
+
     @Override
     public boolean equals(final Object obj) {
         return obj instanceof URLContent other
                 && Objects.equals(digest, other.digest)
                 && Arrays.equals(data, other.data);
     }
+
+    @Override
+    public int hashCode() {
+        return 31 * Objects.hashCode(digest) + data.length;
+    }
+
+    @Override
+    public String toString() {
+        return "URLContent[digest=" + digest + ", length=" + data.length + ", loadedAt=" + loadedAt + "]";
+    }
+
+    /**
+     * Stream feeding all bytes read through it to a
+     * {@link ContentDigest.Hasher}.
+     */
+    private static final class HashingInputStream extends InputStream {
+
+        private final InputStream in;
+        private final ContentDigest.Hasher hasher;
+
+        private HashingInputStream(final InputStream in, final ContentDigest.Hasher hasher) {
+            this.in = in;
+            this.hasher = hasher;
+        }
+
+        @Override
+        public int read() throws IOException {
+            final int b = in.read();
+
+            if (b >= 0) {
+                hasher.update(new byte[]{(byte) b}, 0, 1);
+            }
+
+            return b;
+        }
+
+        @Override
+        public int read(final byte[] b, final int off, final int len) throws IOException {
+            final int count = in.read(b, off, len);
+
+            if (count > 0) {
+                hasher.update(b, off, count);
+            }
+
+            return count;
+        }
+
+        @Override
+        public int available() throws IOException {
+            return in.available();
+        }
+    }
 }
@@ -25,12 +25,26 @@ package org.tweetwallfx.cache;
 
 import java.io.IOException;
 import java.io.InputStream;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.Iterator;
+import java.util.List;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.ServiceLoader;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
 import java.util.concurrent.Executor;
-import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
 import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.atomic.AtomicBoolean;
 import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.LongAdder;
 import java.util.function.Consumer;
 
 import org.apache.logging.log4j.LogManager;
@@ -42,23 +56,109 @@ import static org.tweetwallfx.cache.URLContent.NO_CONTENT;
 /**
  * Caches the content urlString to their urlString.
  */
-public abstract class URLContentCacheBase {
+public abstract class URLContentCacheBase implements URLContentCacheMXBean {
 
     private static final String MESSAGE_LOAD_FAILED = "{}: Failed to load content from {}";
     private static final Logger LOG = LogManager.getLogger(URLContentCacheBase.class);
     private static final ThreadGroup THREAD_GROUP = new ThreadGroup("URLContentCache");
+    private static final List<WarmUpListener> WARM_UP_LISTENERS = ServiceLoader.load(WarmUpListener.class).stream()
+            .map(ServiceLoader.Provider::get)
+            .toList();
     private final String cacheName;
     private final Executor contentLoader;
-    private final Cache<String, URLContent> urlContentCache;
+    private final ContentStore urlContentCache;
+    private final int prefetchConcurrency;
+    private final Duration maxAge;
+    private final Duration maxStaleAge;
+    private final NegativeCache negativeCache;
+    private final WarmUpManifest warmUpManifest;
+    private final ConcurrentMap<String, Load> inFlightLoads = new ConcurrentHashMap<>();
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+    private final LongAdder loads = new LongAdder();
+    private final LongAdder loadFailures = new LongAdder();
+    private final LongAdder loadedBytes = new LongAdder();
+    private final LatencyHistogram loadLatency = new LatencyHistogram();
+    private final LongAdder coalescedRequests = new LongAdder();
 
+    private final AtomicBoolean started = new AtomicBoolean();
+
+    /**
+     * Creates the cache with the settings configured for {@code cacheName}.
+     * The cache is neither registered as MBean nor warmed up until it is
+     * passed to {@link #start(URLContentCacheBase)}, so that {@code this} is
+     * not published before the subclass constructor has completed.
+     *
+     * @param cacheName the name of the cache
+     */
     protected URLContentCacheBase(final String cacheName) {
-        this(cacheName, initializeCache(cacheName), initializeExecutor(cacheName));
+        this(cacheName, createOptions(cacheName));
     }
 
-    URLContentCacheBase(final String cacheName, final Cache<String, URLContent> urlContentCache, final Executor contentLoader) {
+    URLContentCacheBase(final String cacheName, final Options options) {
         this.cacheName = cacheName;
-        this.urlContentCache = urlContentCache;
-        this.contentLoader = contentLoader;
+        this.urlContentCache = options.contentStore;
+        this.contentLoader = options.contentLoader;
+        this.prefetchConcurrency = options.prefetchConcurrency;
+        this.maxAge = null == options.revalidation ? null : options.revalidation.produceMaxAge();
+        this.maxStaleAge = null == options.revalidation ? null : maxAge.plus(options.revalidation.produceStaleWhileRevalidate());
+        this.negativeCache = options.negativeCache;
+        this.warmUpManifest = options.warmUpManifest;
+    }
+
+    /**
+     * Starts the fully constructed {@code cache} by registering it as MBean
+     * and warming up the content recorded in the warm-up manifest of the
+     * previous run. Starting a cache again has no effect. Intended to be
+     * called by the singleton holder of the subclass, e.g.
+     * {@code INSTANCE = start(new ProfileImageCache())}.
+     *
+     * @param <T> the type of the cache
+     * @param cache the cache to start
+     * @return the started {@code cache}
+     */
+    protected static <T extends URLContentCacheBase> T start(final T cache) {
+        final URLContentCacheBase base = cache;
+
+        if (base.started.compareAndSet(false, true)) {
+            MBeans.register("URLContentCache", base.cacheName, base);
+            base.warmUp();
+        }
+
+        return cache;
+    }
+
+    private static Options createOptions(final String cacheName) {
+        final CacheSettings.CacheSetting cacheSetting = getCacheSetting(cacheName);
+
+        return Options.builder()
+                .withContentStore(initializeStore(cacheName))
+                .withContentLoader(initializeExecutor(cacheName))
+                .withPrefetchConcurrency(cacheSetting.prefetchConcurrency())
+                .withRevalidation(cacheSetting.revalidation())
+                .withNegativeCache(createNegativeCache(cacheSetting.negativeCaching()))
+                .withWarmUpManifest(createWarmUpManifest(cacheName, cacheSetting.warmUpEntries()))
+                .build();
+    }
+
+    private static WarmUpManifest createWarmUpManifest(final String cacheName, final int warmUpEntries) {
+        return 0 == warmUpEntries
+                ? null
+                : WarmUpManifest.create(cacheName, warmUpEntries);
+    }
+
+    private static NegativeCache createNegativeCache(final CacheSettings.NegativeCaching negativeCaching) {
+        return 0 == negativeCaching.maxEntries()
+                ? null
+                : new NegativeCache(negativeCaching, Clock.systemUTC());
+    }
+
+    private static ContentStore initializeStore(String cacheName) {
+        final String contentStore = getCacheSetting(cacheName).contentStore();
+
+        return null == contentStore
+                ? ContentStore.of(initializeCache(cacheName))
+                : new ContentAddressedStore(initializeCache(cacheName), initializeCache(contentStore));
     }
 
     private static Cache<String, URLContent> initializeCache(String cacheName) {
@@ -69,13 +169,28 @@ public abstract class URLContentCacheBase {
     }
 
     private static Executor initializeExecutor(String cacheName) {
-        return createExecutor(
-                Configuration.getInstance()
-                        .getConfigTyped(CacheSettings.CONFIG_KEY, CacheSettings.class)
-                        .caches()
-                        .get(cacheName)
-                        .contentLoaderThreads(),
-                cacheName);
+        final CacheSettings.CacheSetting cacheSetting = getCacheSetting(cacheName);
+
+        if (CacheSettings.ContentLoaderMode.VIRTUAL_THREADS == cacheSetting.contentLoaderMode()) {
+            final ThreadFactory virtualThreadFactory = createVirtualThreadFactory(cacheName);
+
+            if (null != virtualThreadFactory) {
+                return PriorityExecutor.threadPerTask(cacheSetting.maxConcurrentLoads(), virtualThreadFactory);
+            }
+
+            // a platform thread per load would need far more threads than the configured pool
+            LOG.warn("{}: Virtual threads are not available on this runtime, loading content on {} platform thread(s) instead",
+                    cacheName, Math.max(1, cacheSetting.contentLoaderThreads()));
+        }
+
+        return createExecutor(cacheSetting.contentLoaderThreads(), cacheName);
+    }
+
+    private static CacheSettings.CacheSetting getCacheSetting(String cacheName) {
+        return Configuration.getInstance()
+                .getConfigTyped(CacheSettings.CONFIG_KEY, CacheSettings.class)
+                .caches()
+                .get(cacheName);
     }
 
     /**
@@ -107,6 +222,7 @@ public abstract class URLContentCacheBase {
      */
     public final Optional<URLContent> getCachedContent(final String urlString) {
         LOG.debug("{}: Getting Content for '{}'", cacheName, urlString);
+        recordAccess(urlString);
         return Optional.ofNullable(urlContentCache.get(urlString));
     }
 
@@ -122,9 +238,9 @@ public abstract class URLContentCacheBase {
      */
     public final URLContent getCachedOrLoad(final String urlString) {
         try {
-            return getCachedOrLoadSync(urlString);
+            return getCachedOrLoadSync(urlString, LoadPriority.VISIBLE);
         } catch (IOException ex) {
-            LOG.error(MESSAGE_LOAD_FAILED, cacheName, urlString, ex);
+            logLoadFailure(urlString, ex);
             return NO_CONTENT;
         }
     }
@@ -133,35 +249,487 @@ public abstract class URLContentCacheBase {
      * Retrieves the cached content asyncronuously for {code urlString} and
      * passes it to {@code contentConsumer}. If no cached content exists the
      * content loaded and cached and then passed to {@code contentConsumer}.
+     * Content is loaded with {@link LoadPriority#NEXT}.
      *
      * @param urlString the string of the URL content to get
      *
      * @param contentConsumer the Consumer processing the content
      */
     public final void getCachedOrLoad(final String urlString, final Consumer<URLContent> contentConsumer) {
+        getCachedOrLoad(urlString, LoadPriority.NEXT, contentConsumer);
+    }
+
+    /**
+     * Retrieves the cached content asyncronuously for {code urlString} and
+     * passes it to {@code contentConsumer}. If no cached content exists the
+     * content loaded with the given {@code priority} and cached and then
+     * passed to {@code contentConsumer}.
+     *
+     * <p>
+     * The {@code contentConsumer} is run on a thread of the content loader,
+     * either right after looking up cached content or by the load providing
+     * the content. Waiting for content to be loaded does not block a thread of
+     * the content loader.
+     *
+     * @param urlString the string of the URL content to get
+     *
+     * @param priority the priority of loading the content
+     *
+     * @param contentConsumer the Consumer processing the content
+     */
+    public final void getCachedOrLoad(final String urlString, final LoadPriority priority, final Consumer<URLContent> contentConsumer) {
         Objects.requireNonNull(contentConsumer, "contentConsumer must not be null");
 
-        contentLoader.execute(() -> {
+        execute(() -> acceptWhenLoaded(urlString, priority, contentConsumer), priority);
+    }
+
+    /**
+     * Passes the content of {@code urlString} to {@code contentConsumer} once
+     * it is loaded, chaining the consumer to the load instead of waiting for
+     * it.
+     */
+    @SuppressWarnings("FutureReturnValueIgnored")
+    private void acceptWhenLoaded(final String urlString, final LoadPriority priority, final Consumer<URLContent> contentConsumer) {
+        load(urlString, priority).whenComplete((content, failure) -> {
+            if (null != failure) {
+                logLoadFailure(urlString, unwrap(failure));
+                return;
+            }
+
             try {
-                final URLContent content = getCachedOrLoadSync(urlString);
                 contentConsumer.accept(content);
-            } catch (final IOException ioe) {
-                LOG.error(MESSAGE_LOAD_FAILED, cacheName, urlString, ioe);
+            } catch (final RuntimeException re) {
+                LOG.error("{}: Failed to process content of {}", cacheName, urlString, re);
             }
         });
     }
 
-    private URLContent getCachedOrLoadSync(final String urlString) throws IOException {
-        URLContent urlc = urlContentCache.get(urlString);
+    /**
+     * Retrieves the cached content for {@code urlString}. If no cached content
+     * exists the content is loaded asynchronously with
+     * {@link LoadPriority#NEXT} and cached. A load of the same URL that is
+     * already running is shared instead of starting another one.
+     *
+     * @param urlString the string of the URL content to get
+     *
+     * @return a future completed with the content or completed exceptionally
+     * in case loading the content failed
+     */
+    public final CompletableFuture<URLContent> load(final String urlString) {
+        return load(urlString, LoadPriority.NEXT);
+    }
+
+    /**
+     * Retrieves the cached content for {@code urlString}. If no cached content
+     * exists the content is loaded asynchronously with the given
+     * {@code priority} and cached. A load of the same URL that is already
+     * running is shared instead of starting another one. In case that load is
+     * still waiting to be started with a lower priority, its priority is
+     * raised.
+     *
+     * @param urlString the string of the URL content to get
+     *
+     * @param priority the priority of loading the content
+     *
+     * @return a future completed with the content or completed exceptionally
+     * in case loading the content failed
+     */
+    public final CompletableFuture<URLContent> load(final String urlString, final LoadPriority priority) {
+        final URLContent urlc = getServableContent(urlString);
+
+        if (null != urlc) {
+            return CompletableFuture.completedFuture(urlc);
+        }
+
+        final Load load = new Load();
+        final Load runningLoad = inFlightLoads.putIfAbsent(urlString, load);
+
+        if (null != runningLoad) {
+            coalescedRequests.increment();
+            promote(runningLoad, priority);
+            return runningLoad;
+        }
+
+        try {
+            load.task = execute(() -> load(urlString, load), priority);
+        } catch (final RejectedExecutionException ree) {
+            inFlightLoads.remove(urlString, load);
+            load.completeExceptionally(ree);
+        }
+
+        return load;
+    }
+
+    /**
+     * Makes sure the content of all {@code urlStrings} is cached, loading the
+     * missing ones with {@link LoadPriority#PREFETCH} and at most
+     * {@code prefetchConcurrency} (see {@link CacheSettings.CacheSetting})
+     * loads running at the same time.
+     *
+     * <p>
+     * Cancelling the returned future stops loading the URLs not yet started.
+     *
+     * @param urlStrings the strings of the URLs whose content to cache
+     *
+     * @return a future completed once all URLs have been processed, which is
+     * completed exceptionally with the first failure (further failures being
+     * suppressed by it) in case loading content of any of the URLs failed
+     */
+    public final CompletableFuture<Void> prefetch(final Collection<String> urlStrings) {
+        final Prefetch prefetch = new Prefetch(List.copyOf(urlStrings).iterator());
+
+        for (int i = 0; i < prefetchConcurrency; i++) {
+            prefetch.loadNext();
+        }
+
+        return prefetch.completion;
+    }
+
+    private URLContent getCachedOrLoadSync(final String urlString, final LoadPriority priority) throws IOException {
+        final URLContent urlc = getServableContent(urlString);
+
+        if (null != urlc) {
+            return urlc;
+        }
+
+        // concurrent requests for the same URL share a single load
+        final Load load = new Load();
+        final Load runningLoad = inFlightLoads.putIfAbsent(urlString, load);
+
+        if (null != runningLoad) {
+            coalescedRequests.increment();
+
+            if (takeOver(runningLoad)) {
+                // waiting for the load to be started could block the only content loader thread
+                LOG.debug("{}: Running waiting load of '{}'", cacheName, urlString);
+            } else {
+                LOG.debug("{}: Waiting for running load of '{}'", cacheName, urlString);
+                promote(runningLoad, priority);
+            }
+
+            return await(runningLoad);
+        }
+
+        load(urlString, load);
+        return await(load);
+    }
+
+    /**
+     * Returns the cached content of {@code urlString} if it may be served. In
+     * case the content is stale but within the stale-while-revalidate window
+     * it is served while being revalidated in the background.
+     *
+     * @return the content to serve or {@code null} if there is no cached
+     * content or it has to be revalidated before being served
+     */
+    private URLContent getServableContent(final String urlString) {
+        recordAccess(urlString);
+        final URLContent urlc = urlContentCache.get(urlString);
 
         if (null == urlc) {
-            urlc = URLContent.of(urlString);
-            putCachedContent(urlString, urlc);
+            misses.increment();
+            return null;
         }
 
+        return switch (freshness(urlc)) {
+            case FRESH -> {
+                hits.increment();
+                yield urlc;
+            }
+            case STALE -> {
+                hits.increment();
+                revalidateInBackground(urlString);
+                yield urlc;
+            }
+            case EXPIRED -> {
+                misses.increment();
+                yield null;
+            }
+        };
+    }
+
+    private void recordAccess(final String urlString) {
+        if (null != warmUpManifest) {
+            warmUpManifest.recordAccess(urlString);
+        }
+    }
+
+    /**
+     * Warms up the cached content of the URLs recorded in the warm-up
+     * manifest of the previous run in the background. Reading the content
+     * promotes it from the disk to the heap tier. The warmed up content is
+     * passed to the {@link WarmUpListener}s, e.g. for decoding images again.
+     * URLs without cached content are not loaded.
+     */
+    private void warmUp() {
+        if (null == warmUpManifest) {
+            return;
+        }
+
+        for (final String urlString : warmUpManifest.load()) {
+            execute(() -> {
+                final URLContent urlc = urlContentCache.get(urlString);
+
+                if (null != urlc) {
+                    WARM_UP_LISTENERS.forEach(listener -> listener.warmedUp(urlc));
+                }
+            }, LoadPriority.PREFETCH);
+        }
+    }
+
+    private Freshness freshness(final URLContent urlc) {
+        if (null == maxAge) {
+            return Freshness.FRESH;
+        } else if (null == urlc.loadedAt()) {
+            // age of content persisted before load times were recorded is unknown
+            return Freshness.STALE;
+        }
+
+        final Duration age = Duration.between(urlc.loadedAt(), Instant.now());
+
+        if (age.compareTo(maxAge) <= 0) {
+            return Freshness.FRESH;
+        } else if (age.compareTo(maxStaleAge) <= 0) {
+            return Freshness.STALE;
+        } else {
+            return Freshness.EXPIRED;
+        }
+    }
+
+    private void revalidateInBackground(final String urlString) {
+        final Load load = new Load();
+
+        if (null != inFlightLoads.putIfAbsent(urlString, load)) {
+            // already being loaded or revalidated
+            return;
+        }
+
+        if (null != negativeCache && negativeCache.isBackedOff(urlString)) {
+            // keep serving the stale content until revalidating it is retried
+            inFlightLoads.remove(urlString, load);
+            return;
+        }
+
+        LOG.debug("{}: Revalidating stale content of '{}'", cacheName, urlString);
+        try {
+            // the stale content is served meanwhile
+            load.task = execute(() -> load(urlString, load), LoadPriority.PREFETCH);
+        } catch (final RejectedExecutionException ree) {
+            inFlightLoads.remove(urlString, load);
+            LOG.warn("{}: Failed to schedule revalidation of {}", cacheName, urlString, ree);
+        }
+    }
+
+    private void load(final String urlString, final Load load) {
+        load.task = null;
+        try {
+            // a load may have completed between the cache miss and the registration of this load
+            URLContent urlc = urlContentCache.get(urlString);
+
+            if (null == urlc) {
+                urlc = loadUncached(urlString);
+            } else if (Freshness.FRESH != freshness(urlc)) {
+                urlc = revalidate(urlString, urlc);
+            }
+
+            load.complete(urlc);
+        } catch (final IOException | RuntimeException ex) {
+            load.completeExceptionally(ex);
+        } finally {
+            inFlightLoads.remove(urlString, load);
+        }
+    }
+
+    private URLContent loadUncached(final String urlString) throws IOException {
+        final IOException backoff = null == negativeCache ? null : negativeCache.getFailure(urlString);
+
+        if (null != backoff) {
+            throw backoff;
+        }
+
+        loads.increment();
+        final URLContent urlc = fetch(urlString);
+        putCachedContent(urlString, urlc);
         return urlc;
     }
 
+    private URLContent fetch(final String urlString) throws IOException {
+        final long start = System.nanoTime();
+        try {
+            final URLContent urlc = URLContent.of(urlString);
+            loadedBytes.add(urlc.length());
+            return urlc;
+        } catch (final IOException ioe) {
+            loadFailed(urlString, ioe);
+            throw ioe;
+        } finally {
+            loadLatency.record(System.nanoTime() - start);
+        }
+    }
+
+    private URLContent revalidate(final String urlString, final URLContent stale) {
+        if (null != negativeCache && null != negativeCache.getFailure(urlString)) {
+            return stale;
+        }
+
+        loads.increment();
+        final long start = System.nanoTime();
+        try {
+            final URLContent urlc = URLContent.revalidate(urlString, stale);
+            if (!urlc.sharesDataWith(stale)) {
+                loadedBytes.add(urlc.length());
+            }
+            putCachedContent(urlString, urlc);
+            return urlc;
+        } catch (final IOException ioe) {
+            loadFailed(urlString, ioe);
+            // serving outdated content is preferable to serving none
+            LOG.warn("{}: Failed to revalidate content of {}, keeping stale content", cacheName, urlString, ioe);
+            return stale;
+        } finally {
+            loadLatency.record(System.nanoTime() - start);
+        }
+    }
+
+    private void loadFailed(final String urlString, final IOException failure) {
+        loadFailures.increment();
+
+        if (null != negativeCache) {
+            negativeCache.failed(urlString, failure);
+        }
+    }
+
+    private void logLoadFailure(final String urlString, final Throwable failure) {
+        if (failure instanceof NegativeCache.BackoffException) {
+            LOG.debug("{}: {}", cacheName, failure.getMessage());
+        } else {
+            LOG.error(MESSAGE_LOAD_FAILED, cacheName, urlString, failure);
+        }
+    }
+
+    private static Throwable unwrap(final Throwable failure) {
+        return failure instanceof CompletionException && null != failure.getCause()
+                ? failure.getCause()
+                : failure;
+    }
+
+    private static URLContent await(final CompletableFuture<URLContent> load) throws IOException {
+        try {
+            return load.join();
+        } catch (final CompletionException ce) {
+            if (ce.getCause() instanceof IOException ioe) {
+                throw ioe;
+            } else if (ce.getCause() instanceof RuntimeException re) {
+                throw re;
+            }
+
+            throw ce;
+        }
+    }
+
+    /**
+     * Returns the number of times content has been loaded from its URL on
+     * request of {@link #getCachedOrLoad(String)} or
+     * {@link #getCachedOrLoad(String, Consumer)} due to a cache miss or
+     * revalidated due to being stale.
+     *
+     * @return the number of loads
+     */
+    @Override
+    public final long getLoadCount() {
+        return loads.sum();
+    }
+
+    /**
+     * Returns the number of requests that did not load the content themselves
+     * but waited for a load of the same URL already running at that time.
+     *
+     * @return the number of coalesced requests
+     */
+    @Override
+    public final long getCoalescedRequestCount() {
+        return coalescedRequests.sum();
+    }
+
+    /**
+     * Returns the number of requests failed without trying to load the
+     * content since loading it failed recently and is backed off.
+     *
+     * @return the number of negative cache hits
+     */
+    @Override
+    public final long getNegativeCacheHitCount() {
+        return null == negativeCache ? 0 : negativeCache.hitCount();
+    }
+
+    /**
+     * Returns the number of loads that were not backed off by a recent
+     * failure.
+     *
+     * @return the number of negative cache misses
+     */
+    @Override
+    public final long getNegativeCacheMissCount() {
+        return null == negativeCache ? 0 : negativeCache.missCount();
+    }
+
+    @Override
+    public final long getHitCount() {
+        return hits.sum();
+    }
+
+    @Override
+    public final long getMissCount() {
+        return misses.sum();
+    }
+
+    @Override
+    public final double getHitRatio() {
+        return CacheStatistics.ratio(getHitCount(), getMissCount());
+    }
+
+    @Override
+    public final long getLoadFailureCount() {
+        return loadFailures.sum();
+    }
+
+    @Override
+    public final long getLoadedBytes() {
+        return loadedBytes.sum();
+    }
+
+    @Override
+    public final double getLoadLatencyMedianMillis() {
+        return loadLatency.percentileMillis(0.5);
+    }
+
+    @Override
+    public final double getLoadLatency95thPercentileMillis() {
+        return loadLatency.percentileMillis(0.95);
+    }
+
+    @Override
+    public final double getLoadLatency99thPercentileMillis() {
+        return loadLatency.percentileMillis(0.99);
+    }
+
+    @Override
+    public final double getLoadLatencyMaxMillis() {
+        return loadLatency.maxMillis();
+    }
+
+    @Override
+    public final int getInFlightLoadCount() {
+        return inFlightLoads.size();
+    }
+
+    @Override
+    public final int getQueuedTaskCount() {
+        return contentLoader instanceof PriorityExecutor priorityExecutor
+                ? priorityExecutor.getQueueSize()
+                : -1;
+    }
+
     /**
      * Adds the {@code content} to the cache under the {@code urlString} key.
      *
@@ -180,6 +748,10 @@ public abstract class URLContentCacheBase {
     private void putCachedContent(final String urlString, final URLContent content) {
         LOG.debug("{}: Setting Content for '{}'", cacheName, urlString);
         urlContentCache.put(urlString, content);
+
+        if (null != negativeCache) {
+            negativeCache.succeeded(urlString);
+        }
     }
 
     /**
@@ -206,18 +778,65 @@ public abstract class URLContentCacheBase {
     }
 
     private void putCachedContentAsync(final String urlString, final Consumer<URLContent> contentConsumer) {
-        contentLoader.execute(() -> {
+        execute(() -> {
             try {
-                final URLContent content = URLContent.of(urlString);
+                final IOException backoff = null == negativeCache ? null : negativeCache.getFailure(urlString);
+
+                if (null != backoff) {
+                    throw backoff;
+                }
+
+                final URLContent content = fetch(urlString);
                 putCachedContent(urlString, content);
 
                 if (null != contentConsumer) {
                     contentConsumer.accept(content);
                 }
             } catch (final IOException ioe) {
-                LOG.error(MESSAGE_LOAD_FAILED, cacheName, urlString, ioe);
+                logLoadFailure(urlString, ioe);
             }
-        });
+        }, LoadPriority.NEXT);
+    }
+
+    /**
+     * Executes {@code task} on the content loader with the given
+     * {@code priority}.
+     *
+     * @return the task waiting to be started in case the content loader
+     * supports priorities, otherwise {@code null}
+     */
+    private PriorityExecutor.Task execute(final Runnable task, final LoadPriority priority) {
+        if (contentLoader instanceof PriorityExecutor priorityExecutor) {
+            return priorityExecutor.execute(task, priority);
+        }
+
+        contentLoader.execute(task);
+        return null;
+    }
+
+    private void promote(final Load load, final LoadPriority priority) {
+        final PriorityExecutor.Task task = load.task;
+
+        if (null != task && contentLoader instanceof PriorityExecutor priorityExecutor) {
+            priorityExecutor.promote(task, priority);
+        }
+    }
+
+    /**
+     * Runs {@code load} on the calling thread in case it is still waiting to
+     * be started by the content loader.
+     *
+     * @return {@code true} if the load was run
+     */
+    private boolean takeOver(final Load load) {
+        final PriorityExecutor.Task task = load.task;
+
+        if (null != task && contentLoader instanceof PriorityExecutor priorityExecutor && priorityExecutor.takeOver(task)) {
+            task.run();
+            return true;
+        }
+
+        return false;
     }
 
     public static URLContentCacheBase getDefault() {
@@ -225,24 +844,226 @@ public abstract class URLContentCacheBase {
     }
 
     private static Executor createExecutor(final int nrThreads, final String name) {
+        return PriorityExecutor.fixedThreadPool(Math.max(1, nrThreads), createThreadFactory(name));
+    }
+
+    /**
+     * Creates a factory of virtual threads for running each load on its own
+     * virtual thread. Loads mostly wait for the network, which does not block
+     * a carrier thread in case of a virtual thread.
+     *
+     * @return the factory or {@code null} if virtual threads are not
+     * available on this runtime
+     */
+    private static ThreadFactory createVirtualThreadFactory(final String name) {
+        try {
+            // looked up reflectively as virtual threads are not available on all supported runtimes
+            final Class<?> builderType = Class.forName("java.lang.Thread$Builder");
+            final Object builder = builderType.getMethod("name", String.class, long.class)
+                    .invoke(Thread.class.getMethod("ofVirtual").invoke(null), name + "-contentLoader", 1L);
+            return (ThreadFactory) builderType.getMethod("factory").invoke(builder);
+        } catch (final ReflectiveOperationException | RuntimeException ex) {
+            LOG.debug("{}: Failed to look up virtual threads", name, ex);
+            return null;
+        }
+    }
+
+    private static ThreadFactory createThreadFactory(final String name) {
         final AtomicInteger counter = new AtomicInteger();
         final ThreadGroup threadGroup = new ThreadGroup(THREAD_GROUP, name);
-        final ThreadFactory threadFactory = r -> {
+
+        return r -> {
             final Thread t = new Thread(threadGroup, r, "contentLoader" + counter.incrementAndGet());
             t.setDaemon(true);
             return t;
         };
+    }
 
-        if (nrThreads < 2) {
-            return Executors.newSingleThreadExecutor(threadFactory);
-        } else {
-            return Executors.newFixedThreadPool(nrThreads, threadFactory);
+    /**
+     * Collaborators and settings of an {@link URLContentCacheBase}. The
+     * protected constructor creates them from the
+     * {@link CacheSettings.CacheSetting} of the cache.
+     */
+    static final class Options {
+
+        private final ContentStore contentStore;
+        private final Executor contentLoader;
+        private final int prefetchConcurrency;
+        private final CacheSettings.CacheRevalidation revalidation;
+        private final NegativeCache negativeCache;
+        private final WarmUpManifest warmUpManifest;
+
+        private Options(final Builder builder) {
+            this.contentStore = Objects.requireNonNull(builder.contentStore, "contentStore must not be null");
+            this.contentLoader = Objects.requireNonNull(builder.contentLoader, "contentLoader must not be null");
+            this.prefetchConcurrency = builder.prefetchConcurrency;
+            this.revalidation = builder.revalidation;
+            this.negativeCache = builder.negativeCache;
+            this.warmUpManifest = builder.warmUpManifest;
         }
+
+        static Builder builder() {
+            return new Builder();
+        }
+
+        @SuppressWarnings("CanIgnoreReturnValueSuggester")
+        static final class Builder {
+
+            private ContentStore contentStore;
+            private Executor contentLoader;
+            private int prefetchConcurrency = 1;
+            private CacheSettings.CacheRevalidation revalidation;
+            private NegativeCache negativeCache;
+            private WarmUpManifest warmUpManifest;
+
+            private Builder() {
+            }
+
+            Builder withContentStore(final ContentStore contentStore) {
+                this.contentStore = Objects.requireNonNull(contentStore, "contentStore must not be null");
+                return this;
+            }
+
+            Builder withContentCache(final Cache<String, URLContent> contentCache) {
+                return withContentStore(ContentStore.of(contentCache));
+            }
+
+            Builder withContentLoader(final Executor contentLoader) {
+                this.contentLoader = Objects.requireNonNull(contentLoader, "contentLoader must not be null");
+                return this;
+            }
+
+            Builder withPrefetchConcurrency(final int prefetchConcurrency) {
+                this.prefetchConcurrency = prefetchConcurrency;
+                return this;
+            }
+
+            /**
+             * Sets the revalidation of cached content, {@code null} meaning
+             * cached content is always fresh.
+             */
+            Builder withRevalidation(final CacheSettings.CacheRevalidation revalidation) {
+                this.revalidation = revalidation;
+                return this;
+            }
+
+            /**
+             * Sets the cache of failed loads, {@code null} meaning failed
+             * loads are not backed off.
+             */
+            Builder withNegativeCache(final NegativeCache negativeCache) {
+                this.negativeCache = negativeCache;
+                return this;
+            }
+
+            /**
+             * Sets the manifest recording accessed URLs, {@code null} meaning
+             * accesses are not recorded for warming up the cache.
+             */
+            Builder withWarmUpManifest(final WarmUpManifest warmUpManifest) {
+                this.warmUpManifest = warmUpManifest;
+                return this;
+            }
+
+            Options build() {
+                return new Options(this);
+            }
+        }
+    }
+
+    /**
+     * State of a single {@link #prefetch(Collection)} call.
+     */
+    private final class Prefetch {
+
+        private final CompletableFuture<Void> completion = new CompletableFuture<>();
+        private final Iterator<String> pending;
+        private final List<Throwable> failures = new ArrayList<>();
+        private int running;
+
+        private Prefetch(final Iterator<String> pending) {
+            this.pending = pending;
+        }
+
+        @SuppressWarnings("FutureReturnValueIgnored")
+        private void loadNext() {
+            while (true) {
+                final String urlString;
+
+                synchronized (this) {
+                    if (completion.isCancelled()) {
+                        return;
+                    } else if (!pending.hasNext()) {
+                        if (0 == running) {
+                            complete();
+                        }
+                        return;
+                    }
+                    urlString = pending.next();
+                    running++;
+                }
+
+                final CompletableFuture<URLContent> load = load(urlString, LoadPriority.PREFETCH);
+
+                if (load.isDone()) {
+                    // already cached, continue in this loop instead of growing the stack
+                    load.whenComplete((content, failure) -> loaded(urlString, failure));
+                } else {
+                    load.whenComplete((content, failure) -> {
+                        loaded(urlString, failure);
+                        loadNext();
+                    });
+                    return;
+                }
+            }
+        }
+
+        private synchronized void loaded(final String urlString, final Throwable failure) {
+            running--;
+
+            if (null != failure) {
+                final Throwable cause = unwrap(failure);
+                logLoadFailure(urlString, cause);
+                failures.add(cause);
+            }
+        }
+
+        private synchronized void complete() {
+            if (completion.isDone()) {
+                return;
+            }
+
+            if (failures.isEmpty()) {
+                completion.complete(null);
+            } else {
+                final Throwable failure = failures.get(0);
+                failures.subList(1, failures.size()).forEach(failure::addSuppressed);
+                completion.completeExceptionally(failure);
+            }
+        }
+    }
+
+    /**
+     * A load of the content of a URL shared by all requests of that URL.
+     */
+    private static final class Load extends CompletableFuture<URLContent> {
+
+        /**
+         * The task running the load while it is waiting to be started.
+         */
+        private volatile PriorityExecutor.Task task;
+    }
+
+    private enum Freshness {
+
+        FRESH,
+        STALE,
+        EXPIRED;
     }
 
     private static final class Default extends URLContentCacheBase {
 
-        private static final Default INSTANCE = new Default();
+        private static final Default INSTANCE = start(new Default());
 
         public Default() {
             super("default");
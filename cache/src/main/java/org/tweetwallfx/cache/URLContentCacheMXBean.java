@@ -0,0 +1,142 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 TweetWallFX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.tweetwallfx.cache;
+
+/**
+ * Statistics of a {@link URLContentCacheBase} published over JMX as
+ * {@code org.tweetwallfx.cache:type=URLContentCache,name=<alias>}.
+ */
+public interface URLContentCacheMXBean {
+
+    /**
+     * Returns the number of requests served with cached content.
+     *
+     * @return the number of hits
+     */
+    long getHitCount();
+
+    /**
+     * Returns the number of requests that had to load or revalidate the
+     * content before serving it.
+     *
+     * @return the number of misses
+     */
+    long getMissCount();
+
+    /**
+     * Returns the share of requests served with cached content.
+     *
+     * @return the hit ratio between {@code 0} and {@code 1} or {@code NaN} if
+     * there have been no requests yet
+     */
+    double getHitRatio();
+
+    /**
+     * Returns the number of times content has been loaded or revalidated.
+     *
+     * @return the number of loads
+     */
+    long getLoadCount();
+
+    /**
+     * Returns the number of loads and revalidations that failed.
+     *
+     * @return the number of failed loads
+     */
+    long getLoadFailureCount();
+
+    /**
+     * Returns the number of bytes of content loaded. Content revalidated as
+     * not modified does not count.
+     *
+     * @return the number of bytes loaded
+     */
+    long getLoadedBytes();
+
+    /**
+     * Returns the median latency of loads and revalidations.
+     *
+     * @return the latency in milliseconds
+     */
+    double getLoadLatencyMedianMillis();
+
+    /**
+     * Returns the 95th percentile of the latency of loads and revalidations.
+     *
+     * @return the latency in milliseconds
+     */
+    double getLoadLatency95thPercentileMillis();
+
+    /**
+     * Returns the 99th percentile of the latency of loads and revalidations.
+     *
+     * @return the latency in milliseconds
+     */
+    double getLoadLatency99thPercentileMillis();
+
+    /**
+     * Returns the maximum latency of loads and revalidations.
+     *
+     * @return the latency in milliseconds
+     */
+    double getLoadLatencyMaxMillis();
+
+    /**
+     * Returns the number of requests that waited for a load of the same URL
+     * already running instead of loading the content themselves.
+     *
+     * @return the number of coalesced requests
+     */
+    long getCoalescedRequestCount();
+
+    /**
+     * Returns the number of loads failed without trying since loading the
+     * content failed recently.
+     *
+     * @return the number of negative cache hits
+     */
+    long getNegativeCacheHitCount();
+
+    /**
+     * Returns the number of loads not backed off by a recent failure.
+     *
+     * @return the number of negative cache misses
+     */
+    long getNegativeCacheMissCount();
+
+    /**
+     * Returns the number of loads and revalidations currently running or
+     * waiting to run.
+     *
+     * @return the number of loads in flight
+     */
+    int getInFlightLoadCount();
+
+    /**
+     * Returns the number of tasks waiting for a thread of the content loader.
+     *
+     * @return the queue depth or {@code -1} if it is not known
+     */
+    int getQueuedTaskCount();
+}
@@ -0,0 +1,294 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 TweetWallFX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.tweetwallfx.cache;
+
+import java.io.IOException;
+import java.io.InterruptedIOException;
+import java.net.Authenticator;
+import java.net.InetSocketAddress;
+import java.net.PasswordAuthentication;
+import java.net.ProxySelector;
+import java.net.URI;
+import java.net.http.HttpClient;
+import java.net.http.HttpRequest;
+import java.net.http.HttpResponse;
+import java.net.http.HttpTimeoutException;
+import java.nio.ByteBuffer;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionStage;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.Flow;
+import java.util.concurrent.Semaphore;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.TimeoutException;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+import org.tweetwallfx.config.Configuration;
+import org.tweetwallfx.config.ConnectionSettings;
+
+/**
+ * Loads the content of HTTP(S) URLs with a single {@link HttpClient} shared by
+ * all caches, so connections are kept alive and reused (and multiplexed over
+ * HTTP/2 where the server supports it).
+ *
+ * <p>
+ * Every request is bounded by the timeouts of the
+ * {@link CacheSettings.HttpClientSetting} and the number of requests running
+ * against a single host at the same time is capped.
+ */
+final class URLContentLoader {
+
+    private static final Logger LOG = LogManager.getLogger(URLContentLoader.class);
+    private static final int HTTP_NOT_MODIFIED = 304;
+
+    private final HttpClient httpClient;
+    private final Duration requestTimeout;
+    private final int maxConcurrentRequestsPerHost;
+    private final ContentDigest contentDigest;
+    private final ConcurrentMap<String, Semaphore> hostPermits = new ConcurrentHashMap<>();
+
+    URLContentLoader(final HttpClient httpClient, final Duration requestTimeout, final int maxConcurrentRequestsPerHost, final ContentDigest contentDigest) {
+        this.httpClient = httpClient;
+        this.requestTimeout = requestTimeout;
+        this.maxConcurrentRequestsPerHost = maxConcurrentRequestsPerHost;
+        this.contentDigest = contentDigest;
+    }
+
+    static URLContentLoader getInstance() {
+        return Holder.INSTANCE;
+    }
+
+    static boolean isHttp(final String urlString) {
+        return urlString.regionMatches(true, 0, "http://", 0, 7)
+                || urlString.regionMatches(true, 0, "https://", 0, 8);
+    }
+
+    static URLContentLoader create(final CacheSettings.HttpClientSetting setting, final ContentDigest contentDigest, final Optional<ConnectionSettings.Proxy> proxy) {
+        final HttpClient.Builder builder = HttpClient.newBuilder()
+                .version(HttpClient.Version.HTTP_2)
+                .followRedirects(HttpClient.Redirect.NORMAL)
+                .connectTimeout(Duration.ofSeconds(setting.connectTimeoutSeconds()));
+
+        proxy.filter(p -> !p.host().isEmpty()).ifPresent(p -> {
+            LOG.info("Loading content via proxy {}:{}", p.host(), p.port());
+            builder.proxy(ProxySelector.of(InetSocketAddress.createUnresolved(p.host(), p.port())));
+
+            if (null != p.user()) {
+                builder.authenticator(new ProxyAuthenticator(p.user(), p.password()));
+            }
+        });
+
+        return new URLContentLoader(
+                builder.build(),
+                Duration.ofSeconds(setting.requestTimeoutSeconds()),
+                setting.maxConcurrentRequestsPerHost(),
+                contentDigest);
+    }
+
+    /**
+     * Loads the content of {@code urlString}.
+     *
+     * @param urlString the string of the HTTP(S) URL to load
+     *
+     * @return the loaded content
+     *
+     * @throws IOException in case loading the content failed, did not finish
+     * in time or the server did not respond with a success status
+     */
+    URLContent load(final String urlString) throws IOException {
+        return revalidate(urlString, null);
+    }
+
+    /**
+     * Revalidates the {@code cached} content of {@code urlString} with a
+     * conditional request using its {@code ETag} and {@code Last-Modified}
+     * validators.
+     *
+     * @param urlString the string of the HTTP(S) URL to load
+     *
+     * @param cached the currently cached content or {@code null} if none is
+     * cached
+     *
+     * @return the {@code cached} content marked as revalidated if the server
+     * reports it as not modified, otherwise the newly loaded content
+     *
+     * @throws IOException in case loading the content failed, did not finish
+     * in time or the server did not respond with a success status
+     */
+    URLContent revalidate(final String urlString, final URLContent cached) throws IOException {
+        final URI uri = toURI(urlString);
+        final Semaphore permits = hostPermits.computeIfAbsent(
+                String.valueOf(uri.getHost()),
+                host -> new Semaphore(maxConcurrentRequestsPerHost));
+
+        try {
+            permits.acquire();
+        } catch (final InterruptedException ie) {
+            Thread.currentThread().interrupt();
+            throw (IOException) new InterruptedIOException("Interrupted while waiting to load " + urlString).initCause(ie);
+        }
+
+        try {
+            final HttpRequest.Builder request = HttpRequest.newBuilder(uri)
+                    .timeout(requestTimeout)
+                    .GET();
+
+            if (null != cached && null != cached.etag()) {
+                request.header("If-None-Match", cached.etag());
+            }
+            if (null != cached && null != cached.lastModified()) {
+                request.header("If-Modified-Since", cached.lastModified());
+            }
+
+            final HttpResponse<DigestedBody> response = send(request.build());
+
+            if (null != cached && HTTP_NOT_MODIFIED == response.statusCode()) {
+                LOG.debug("Content of {} is not modified", urlString);
+                return cached.revalidated();
+            } else if (response.statusCode() < 200 || response.statusCode() > 299) {
+                throw new IOException("Loading " + urlString + " failed with HTTP status " + response.statusCode());
+            }
+
+            return URLContent.wrap(
+                    response.body().bytes(),
+                    response.body().digest(),
+                    response.headers().firstValue("ETag").orElse(null),
+                    response.headers().firstValue("Last-Modified").orElse(null),
+                    Instant.now());
+        } finally {
+            permits.release();
+        }
+    }
+
+    private HttpResponse<DigestedBody> send(final HttpRequest request) throws IOException {
+        // the request timeout only covers the arrival of the response headers, so the body is awaited with a timeout as well
+        final CompletableFuture<HttpResponse<DigestedBody>> response = httpClient.sendAsync(
+                request,
+                responseInfo -> new DigestingBodySubscriber(contentDigest.newHasher()));
+
+        try {
+            return response.get(requestTimeout.toMillis(), TimeUnit.MILLISECONDS);
+        } catch (final TimeoutException te) {
+            response.cancel(true);
+            throw (IOException) new HttpTimeoutException("Loading " + request.uri() + " did not finish within " + requestTimeout).initCause(te);
+        } catch (final InterruptedException ie) {
+            response.cancel(true);
+            Thread.currentThread().interrupt();
+            throw (IOException) new InterruptedIOException("Interrupted while loading " + request.uri()).initCause(ie);
+        } catch (final ExecutionException ee) {
+            if (ee.getCause() instanceof IOException ioe) {
+                throw ioe;
+            }
+
+            throw new IOException("Loading " + request.uri() + " failed", ee.getCause());
+        }
+    }
+
+    private static URI toURI(final String urlString) throws IOException {
+        try {
+            return URI.create(urlString);
+        } catch (final IllegalArgumentException iae) {
+            throw new IOException("Invalid URL: " + urlString, iae);
+        }
+    }
+
+    /**
+     * Collects the body of a response computing its digest while the body is
+     * received, instead of in a second pass once it is complete.
+     */
+    private static final class DigestingBodySubscriber implements HttpResponse.BodySubscriber<DigestedBody> {
+
+        private final HttpResponse.BodySubscriber<byte[]> bytes = HttpResponse.BodySubscribers.ofByteArray();
+        private final ContentDigest.Hasher hasher;
+
+        private DigestingBodySubscriber(final ContentDigest.Hasher hasher) {
+            this.hasher = hasher;
+        }
+
+        @Override
+        public CompletionStage<DigestedBody> getBody() {
+            return bytes.getBody().thenApply(body -> new DigestedBody(body, hasher.digest()));
+        }
+
+        @Override
+        public void onSubscribe(final Flow.Subscription subscription) {
+            bytes.onSubscribe(subscription);
+        }
+
+        @Override
+        public void onNext(final List<ByteBuffer> items) {
+            items.forEach(item -> hasher.update(item.duplicate()));
+            bytes.onNext(items);
+        }
+
+        @Override
+        public void onError(final Throwable throwable) {
+            bytes.onError(throwable);
+        }
+
+        @Override
+        public void onComplete() {
+            bytes.onComplete();
+        }
+    }
+
+    private static record DigestedBody(byte[] bytes, String digest) {
+    }
+
+    private static final class ProxyAuthenticator extends Authenticator {
+
+        private final String user;
+        private final String password;
+
+        private ProxyAuthenticator(final String user, final String password) {
+            this.user = user;
+            this.password = password;
+        }
+
+        @Override
+        protected PasswordAuthentication getPasswordAuthentication() {
+            return RequestorType.PROXY == getRequestorType()
+                    ? new PasswordAuthentication(user, null == password ? new char[0] : password.toCharArray())
+                    : null;
+        }
+    }
+
+    private static final class Holder {
+
+        private static final URLContentLoader INSTANCE = create(
+                Configuration.getInstance()
+                        .getConfigTyped(CacheSettings.CONFIG_KEY, CacheSettings.class)
+                        .httpClient(),
+                ContentDigest.configured(),
+                Configuration.getInstance()
+                        .getConfigTypedOptional(ConnectionSettings.CONFIG_KEY, ConnectionSettings.class)
+                        .map(ConnectionSettings::proxy));
+    }
+}
@@ -0,0 +1,210 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 TweetWallFX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.tweetwallfx.cache;
+
+import java.io.ObjectStreamConstants;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.time.Instant;
+import java.util.Objects;
+import org.ehcache.impl.serialization.CompactJavaSerializer;
+import org.ehcache.spi.persistence.StateRepository;
+import org.ehcache.spi.serialization.SerializerException;
+import org.ehcache.spi.serialization.StatefulSerializer;
+
+/**
+ * Serializer storing {@link URLContent} in the off-heap and disk tiers of a
+ * cache as a compact binary.
+ *
+ * <p>
+ * The binary starts with a marker followed by the load time and the length
+ * prefixed digest, {@code ETag} and {@code Last-Modified} validators. The raw
+ * content bytes make up the rest of the binary. Binaries starting with
+ * anything else than the marker or the java serialization stream magic are
+ * rejected with a {@link SerializerException}.
+ *
+ * <p>
+ * Content a cache has persisted with ehcache's default serializer for
+ * {@link java.io.Serializable} values ({@link CompactJavaSerializer}) is read
+ * by delegating to a {@link CompactJavaSerializer} sharing the
+ * {@link StateRepository} of the cache. That serializer does not write
+ * standard class descriptors but indices of the descriptors it keeps in the
+ * state repository, so existing disk tiers can only be switched over to this
+ * serializer together with their persisted state. Such content is rewritten
+ * in the compact binary once it is put into the cache again. In case the
+ * state was lost reading the content fails with a {@link SerializerException}
+ * and the persisted cache has to be cleared.
+ *
+ * <p>
+ * To be selected via {@link CacheSettings.CacheSetting#valueSerializer()}.
+ */
+public final class URLContentSerializer implements StatefulSerializer<URLContent> {
+
+    private static final int NO_STRING = -1;
+    private static final int WITH_VALIDATORS = -2;
+    private static final long NO_LOAD_TIME = Long.MIN_VALUE;
+
+    private final CompactJavaSerializer<URLContent> javaSerializer;
+
+    /**
+     * Constructor as required by ehcache for serializers configured by class.
+     *
+     * @param classLoader the class loader of the cache
+     */
+    public URLContentSerializer(final ClassLoader classLoader) {
+        this.javaSerializer = new CompactJavaSerializer<>(classLoader);
+    }
+
+    /**
+     * {@inheritDoc}
+     *
+     * <p>
+     * The state is only used to read content persisted with ehcache's default
+     * serializer.
+     */
+    @Override
+    public void init(final StateRepository stateRepository) {
+        javaSerializer.init(stateRepository);
+    }
+
+    @Override
+    public ByteBuffer serialize(final URLContent content) {
+        final byte[] digest = toBytes(content.digest());
+        final byte[] etag = toBytes(content.etag());
+        final byte[] lastModified = toBytes(content.lastModified());
+        final ByteBuffer buffer = ByteBuffer.allocate(Integer.BYTES
+                + Long.BYTES
+                + sizeOf(digest)
+                + sizeOf(etag)
+                + sizeOf(lastModified)
+                + content.length());
+
+        buffer.putInt(WITH_VALIDATORS);
+        buffer.putLong(null == content.loadedAt() ? NO_LOAD_TIME : content.loadedAt().toEpochMilli());
+        putString(buffer, digest);
+        putString(buffer, etag);
+        putString(buffer, lastModified);
+
+        return buffer.put(content.asByteBuffer()).flip();
+    }
+
+    @Override
+    public URLContent read(final ByteBuffer binary) throws ClassNotFoundException {
+        if (isJavaSerialized(binary)) {
+            return javaSerializer.read(binary);
+        }
+
+        final Header header = readHeader(binary);
+        final byte[] data = new byte[binary.remaining()];
+        binary.get(data);
+
+        return URLContent.wrap(data, header.digest(), header.etag(), header.lastModified(), header.loadedAt());
+    }
+
+    @Override
+    public boolean equals(final URLContent content, final ByteBuffer binary) throws ClassNotFoundException {
+        final ByteBuffer duplicate = binary.duplicate();
+
+        if (isJavaSerialized(duplicate)) {
+            return content.equals(javaSerializer.read(duplicate));
+        }
+
+        return Objects.equals(content.digest(), readHeader(duplicate).digest())
+                && content.asByteBuffer().equals(duplicate);
+    }
+
+    private static Header readHeader(final ByteBuffer binary) {
+        if (binary.remaining() < Integer.BYTES) {
+            throw new SerializerException("Binary of " + binary.remaining() + " bytes is too short for URLContent");
+        }
+
+        final int marker = binary.getInt();
+
+        if (WITH_VALIDATORS != marker) {
+            throw new SerializerException("Unknown marker " + marker + " in URLContent binary");
+        }
+
+        if (binary.remaining() < Long.BYTES) {
+            throw new SerializerException("Binary is too short for the load time of URLContent");
+        }
+        final long loadedAt = binary.getLong();
+
+        return new Header(
+                readString(binary),
+                readString(binary),
+                readString(binary),
+                NO_LOAD_TIME == loadedAt ? null : Instant.ofEpochMilli(loadedAt));
+    }
+
+    private static byte[] toBytes(final String value) {
+        return null == value
+                ? null
+                : value.getBytes(StandardCharsets.UTF_8);
+    }
+
+    private static int sizeOf(final byte[] value) {
+        return Integer.BYTES + (null == value ? 0 : value.length);
+    }
+
+    private static void putString(final ByteBuffer buffer, final byte[] value) {
+        if (null == value) {
+            buffer.putInt(NO_STRING);
+        } else {
+            buffer.putInt(value.length);
+            buffer.put(value);
+        }
+    }
+
+    private static String readString(final ByteBuffer binary) {
+        if (binary.remaining() < Integer.BYTES) {
+            throw new SerializerException("Binary is too short for the string length of URLContent");
+        }
+
+        final int length = binary.getInt();
+
+        if (NO_STRING == length) {
+            return null;
+        } else if (length < 0 || length > binary.remaining()) {
+            throw new SerializerException("Invalid string length " + length + " in URLContent binary");
+        }
+
+        final byte[] value = new byte[length];
+        binary.get(value);
+
+        return new String(value, StandardCharsets.UTF_8);
+    }
+
+    private static boolean isJavaSerialized(final ByteBuffer binary) {
+        // the marker does not start with the java serialization stream magic
+        return binary.remaining() >= Short.BYTES
+                && ObjectStreamConstants.STREAM_MAGIC == binary.getShort(binary.position());
+    }
+
+    private static record Header(
+            String digest,
+            String etag,
+            String lastModified,
+            Instant loadedAt) {
+    }
+}
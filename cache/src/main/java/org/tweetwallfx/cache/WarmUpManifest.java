@@ -0,0 +1,168 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 TweetWallFX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.tweetwallfx.cache;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ConcurrentMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.stream.Stream;
+import org.apache.logging.log4j.LogManager;
+import org.apache.logging.log4j.Logger;
+
+/**
+ * Manifest of the most frequently accessed keys of a cache, persisted so the
+ * entries of those keys can be warmed up after a restart.
+ *
+ * <p>
+ * Accesses are counted per key. Once more than four times the number of keys
+ * the manifest holds are counted, all counts are halved and keys no longer
+ * accessed are dropped, so the manifest follows keys recently becoming hot.
+ * The manifest is saved periodically and on shutdown.
+ */
+public final class WarmUpManifest {
+
+    private static final Logger LOG = LogManager.getLogger(WarmUpManifest.class);
+    private static final long SAVE_INTERVAL_MINUTES = 5;
+
+    private final Path file;
+    private final int maxEntries;
+    private final ConcurrentMap<String, AtomicLong> accesses = new ConcurrentHashMap<>();
+    private final AtomicBoolean aging = new AtomicBoolean();
+
+    WarmUpManifest(final Path file, final int maxEntries) {
+        this.file = file;
+        this.maxEntries = maxEntries;
+    }
+
+    /**
+     * Creates the manifest {@code name} in the persistence directory of the
+     * caches, which is saved periodically and on shutdown.
+     *
+     * @param name the name of the manifest
+     *
+     * @param maxEntries the maximum number of keys the manifest holds
+     *
+     * @return the manifest
+     */
+    @SuppressWarnings("FutureReturnValueIgnored")
+    public static WarmUpManifest create(final String name, final int maxEntries) {
+        final WarmUpManifest manifest = new WarmUpManifest(
+                CacheManagerProvider.getPersistenceDirectory().resolve("warm-up").resolve(name + ".manifest"),
+                maxEntries);
+
+        Saver.EXECUTOR.scheduleWithFixedDelay(manifest::save, SAVE_INTERVAL_MINUTES, SAVE_INTERVAL_MINUTES, TimeUnit.MINUTES);
+        Runtime.getRuntime().addShutdownHook(new Thread(manifest::save, "warm-up-manifest-" + name));
+        return manifest;
+    }
+
+    /**
+     * Counts an access of {@code key}.
+     *
+     * @param key the accessed key
+     */
+    public void recordAccess(final String key) {
+        accesses.computeIfAbsent(key, k -> new AtomicLong()).incrementAndGet();
+
+        if (accesses.size() > 4L * maxEntries && aging.compareAndSet(false, true)) {
+            try {
+                accesses.forEach((k, count) -> {
+                    if (0 == count.updateAndGet(c -> c / 2)) {
+                        accesses.remove(k, count);
+                    }
+                });
+            } finally {
+                aging.set(false);
+            }
+        }
+    }
+
+    /**
+     * Loads the keys of the saved manifest, most frequently accessed first.
+     * The loaded keys are counted as accessed once, so they are kept in the
+     * manifest unless other keys become hotter.
+     *
+     * @return the keys of the saved manifest or an empty list if there is none
+     */
+    public List<String> load() {
+        if (!Files.exists(file)) {
+            return List.of();
+        }
+
+        try (Stream<String> lines = Files.lines(file, StandardCharsets.UTF_8)) {
+            final List<String> keys = lines
+                    .filter(line -> !line.isBlank())
+                    .limit(maxEntries)
+                    .toList();
+            keys.forEach(key -> accesses.putIfAbsent(key, new AtomicLong(1)));
+            LOG.info("Loaded {} keys from warm-up manifest {}", keys.size(), file);
+            return keys;
+        } catch (final IOException | RuntimeException ex) {
+            LOG.warn("Failed to load warm-up manifest {}", file, ex);
+            return List.of();
+        }
+    }
+
+    /**
+     * Saves the most frequently accessed keys replacing the previously saved
+     * manifest.
+     */
+    void save() {
+        final List<String> keys = accesses.entrySet().stream()
+                .map(entry -> Map.entry(entry.getKey(), entry.getValue().get()))
+                .sorted(Map.Entry.<String, Long>comparingByValue().reversed())
+                .limit(maxEntries)
+                .map(Map.Entry::getKey)
+                .toList();
+
+        try {
+            Files.createDirectories(file.getParent());
+            final Path tempFile = Files.createTempFile(file.getParent(), file.getFileName().toString(), ".tmp");
+            Files.write(tempFile, keys, StandardCharsets.UTF_8);
+            Files.move(tempFile, file, StandardCopyOption.REPLACE_EXISTING, StandardCopyOption.ATOMIC_MOVE);
+            LOG.debug("Saved {} keys to warm-up manifest {}", keys.size(), file);
+        } catch (final IOException ioe) {
+            LOG.warn("Failed to save warm-up manifest {}", file, ioe);
+        }
+    }
+
+    private static final class Saver {
+
+        private static final ScheduledExecutorService EXECUTOR = Executors.newSingleThreadScheduledExecutor(r -> {
+            final Thread t = new Thread(r, "warm-up-manifest-saver");
+            t.setDaemon(true);
+            return t;
+        });
+    }
+}
@@ -0,0 +1,103 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 TweetWallFX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.tweetwallfx.cache;
+
+import org.ehcache.CacheManager;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.CacheManagerBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.temporal.ChronoUnit;
+import java.util.Map;
+import java.util.Set;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class CacheTest {
+
+    private CacheManager cacheManager;
+    private Cache<String, String> cache;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = CacheManagerBuilder.newCacheManagerBuilder()
+                .withCache("test", CacheConfigurationBuilder.newCacheConfigurationBuilder(
+                        String.class, String.class, ResourcePoolsBuilder.heap(10)))
+                .build(true);
+        cache = new Cache<>(cacheManager.getCache("test", String.class, String.class));
+    }
+
+    @AfterEach
+    void tearDown() {
+        cacheManager.close();
+    }
+
+    @Test
+    void statisticsAreRecorded() {
+        assertThat(cache.getStatistics().getHitRatio()).isNaN();
+
+        cache.put("one", "1");
+        cache.putAll(Map.of("two", "2", "three", "3"));
+        cache.putIfAbsent("one", "one");
+        assertThat(cache.get("one")).isEqualTo("1");
+        assertThat(cache.get("four")).isNull();
+        cache.getAll(Set.of("two", "four"));
+        assertThat(cache.remove("three")).isTrue();
+        assertThat(cache.remove("three")).isFalse();
+
+        assertThat(cache.getStatistics().getPutCount()).isEqualTo(3);
+        assertThat(cache.getStatistics().getHitCount()).isEqualTo(2);
+        assertThat(cache.getStatistics().getMissCount()).isEqualTo(2);
+        assertThat(cache.getStatistics().getHitRatio()).isEqualTo(0.5);
+        assertThat(cache.getStatistics().getRemovalCount()).isEqualTo(1);
+    }
+
+    @Test
+    void frontTierServesValuesUntilTheyAreChanged() {
+        final Cache<String, String> frontedCache = new Cache<>(
+                cacheManager.getCache("test", String.class, String.class),
+                new CacheStatistics(),
+                new FrontTier<>(new CacheSettings.FrontTierSetting(10, null, 1L, ChronoUnit.MINUTES), Clock.systemUTC()));
+
+        frontedCache.put("one", "1");
+        assertThat(frontedCache.get("one")).isEqualTo("1");
+        assertThat(frontedCache.get("one")).isEqualTo("1");
+        assertThat(frontedCache.getAll(Set.of("one"))).containsEntry("one", "1");
+
+        frontedCache.put("one", "one");
+        assertThat(frontedCache.get("one")).isEqualTo("one");
+        assertThat(frontedCache.replace("one", "one", "eins")).isTrue();
+        assertThat(frontedCache.get("one")).isEqualTo("eins");
+        assertThat(frontedCache.remove("one")).isTrue();
+        assertThat(frontedCache.get("one")).isNull();
+
+        assertThat(frontedCache.getStatistics().getHitCount()).isEqualTo(5);
+        assertThat(frontedCache.getStatistics().getFrontTierHitCount()).isEqualTo(2);
+        assertThat(frontedCache.getStatistics().getMissCount()).isEqualTo(1);
+    }
+}
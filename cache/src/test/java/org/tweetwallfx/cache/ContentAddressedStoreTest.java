@@ -0,0 +1,126 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 TweetWallFX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.tweetwallfx.cache;
+
+import org.ehcache.CacheManager;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.CacheManagerBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.nio.charset.StandardCharsets;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class ContentAddressedStoreTest {
+
+    private CacheManager cacheManager;
+    private Cache<String, URLContent> index;
+    private Cache<String, URLContent> blobs;
+    private ContentAddressedStore store;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = CacheManagerBuilder.newCacheManagerBuilder()
+                .withCache("index", CacheConfigurationBuilder.newCacheConfigurationBuilder(
+                        String.class, URLContent.class, ResourcePoolsBuilder.heap(10)))
+                .withCache("blobs", CacheConfigurationBuilder.newCacheConfigurationBuilder(
+                        String.class, URLContent.class, ResourcePoolsBuilder.heap(10)))
+                .build(true);
+        index = new Cache<>(cacheManager.getCache("index", String.class, URLContent.class));
+        blobs = new Cache<>(cacheManager.getCache("blobs", String.class, URLContent.class));
+        store = new ContentAddressedStore(index, blobs);
+    }
+
+    @AfterEach
+    void tearDown() {
+        cacheManager.close();
+    }
+
+    @Test
+    void identicalContentIsStoredOnce() {
+        store.put("https://host/image:large", content("image", "\"a\""));
+        store.put("https://host/image:medium", content("image", "\"b\""));
+        store.put("https://host/other", content("other", null));
+
+        assertThat(store.get("https://host/image:large"))
+                .isEqualTo(content("image", null))
+                .extracting(URLContent::etag).isEqualTo("\"a\"");
+        assertThat(store.get("https://host/image:medium"))
+                .isEqualTo(content("image", null))
+                .extracting(URLContent::etag).isEqualTo("\"b\"");
+        assertThat(store.get("https://host/other")).isEqualTo(content("other", null));
+        assertThat(store.get("https://host/unknown")).isNull();
+        assertThat(blobs.get(content("image", null).digest())).isEqualTo(content("image", null));
+        assertThat(index.get("https://host/image:large").length()).isZero();
+        assertThat(index.get("https://host/image:medium").length()).isZero();
+    }
+
+    @Test
+    void contentWithEvictedDataIsMissing() {
+        final URLContent content = content("image", null);
+        store.put("https://host/image", content);
+        blobs.remove(content.digest());
+
+        assertThat(store.containsKey("https://host/image")).isFalse();
+        assertThat(store.get("https://host/image")).isNull();
+        assertThat(index.containsKey("https://host/image")).isFalse();
+    }
+
+    @Test
+    void emptyContentIsStored() {
+        store.put("https://host/empty", URLContent.of(new byte[0], "test"));
+
+        assertThat(store.containsKey("https://host/empty")).isTrue();
+        assertThat(store.get("https://host/empty")).isEqualTo(URLContent.NO_CONTENT);
+    }
+
+    @Test
+    void contentWithCollidingDigestIsNotServedForOtherContent() {
+        final URLContent original = new URLContent("original".getBytes(StandardCharsets.UTF_8), "digest");
+        final URLContent colliding = new URLContent("colliding".getBytes(StandardCharsets.UTF_8), "digest");
+        store.put("https://host/original", original);
+
+        store.put("https://host/colliding", colliding);
+
+        assertThat(store.get("https://host/original")).isEqualTo(original);
+        assertThat(store.get("https://host/colliding")).isEqualTo(colliding);
+        assertThat(blobs.get("digest")).isEqualTo(original);
+    }
+
+    @Test
+    void contentStoredWithItsDataIsServed() {
+        final URLContent content = content("image", null);
+        index.put("https://host/image", content);
+
+        assertThat(store.containsKey("https://host/image")).isTrue();
+        assertThat(store.get("https://host/image")).isSameAs(content);
+    }
+
+    private static URLContent content(final String data, final String etag) {
+        return URLContent.of(data.getBytes(StandardCharsets.UTF_8), "test", etag, null);
+    }
+}
@@ -0,0 +1,111 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 TweetWallFX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.tweetwallfx.cache;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Map;
+import java.util.Random;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class ContentDigestTest {
+
+    private static final byte[] FOX = "The quick brown fox jumps over the lazy dog".getBytes(StandardCharsets.UTF_8);
+
+    @Test
+    void digestsMatchReferenceValues() {
+        assertThat(ContentDigest.MD5.digest(new byte[0])).isEqualTo(URLContent.NO_CONTENT.digest());
+        assertThat(ContentDigest.MD5.digest(FOX)).isEqualTo("9e107d9d372bb6826bd81d3542a419d6");
+        assertThat(ContentDigest.SHA_256.digest(FOX)).isEqualTo("d7a8fbb307d7809469ca9abcb0082e4f8d5651e46d3cdb762d02d0bf37c9e592");
+        assertThat(ContentDigest.MURMUR3_128.digest(new byte[0])).isEqualTo("00000000000000000000000000000000");
+        assertThat(ContentDigest.MURMUR3_128.digest("hell".getBytes(StandardCharsets.UTF_8))).isEqualTo("67f8103e694299624753ebba820bdb92");
+        assertThat(ContentDigest.MURMUR3_128.digest(FOX)).isEqualTo("6c1b07bc7bbc4be347939ac4a93c437a");
+    }
+
+    @ParameterizedTest
+    @EnumSource(ContentDigest.class)
+    void incrementalDigestEqualsDigestOfWholeContent(final ContentDigest contentDigest) {
+        final Random random = new Random(42);
+        final byte[] content = new byte[10_007];
+        random.nextBytes(content);
+
+        final ContentDigest.Hasher hasher = contentDigest.newHasher();
+        for (int position = 0; position < content.length;) {
+            final int count = Math.min(content.length - position, random.nextInt(40));
+            if (random.nextBoolean()) {
+                hasher.update(content, position, count);
+            } else {
+                hasher.update(ByteBuffer.allocateDirect(count).put(content, position, count).flip());
+            }
+            position += count;
+        }
+
+        assertThat(hasher.digest()).isEqualTo(contentDigest.digest(content));
+    }
+
+    @Test
+    void digestIsComputedWhileReadingContent() throws IOException {
+        final URLContent content = URLContent.of(new ByteArrayInputStream(FOX));
+
+        assertThat(content.digest()).isEqualTo(ContentDigest.configured().digest(FOX));
+        assertThat(content.data()).isEqualTo(FOX);
+    }
+
+    @Test
+    void digestsOfCollisionResistantAlgorithmAreRecognized() {
+        assertThat(ContentDigest.isCollisionResistantDigest(ContentDigest.SHA_256.digest(FOX))).isTrue();
+        assertThat(ContentDigest.isCollisionResistantDigest(ContentDigest.MD5.digest(FOX))).isFalse();
+        assertThat(ContentDigest.isCollisionResistantDigest(ContentDigest.MURMUR3_128.digest(FOX))).isFalse();
+        assertThat(ContentDigest.isCollisionResistantDigest(null)).isFalse();
+    }
+
+    @Test
+    void onlyCollisionResistantDigestIsAcceptedForContentStores() {
+        final CacheSettings.CacheSetting contentAddressed = new CacheSettings.CacheSetting(
+                "java.lang.String", "org.tweetwallfx.cache.URLContent", null, "content",
+                null, null, null, null, null, null, null, null, null, null);
+
+        assertThat(ContentDigest.MURMUR3_128.isCollisionResistant()).isFalse();
+        assertThat(ContentDigest.MD5.isCollisionResistant()).isFalse();
+        assertThat(ContentDigest.SHA_256.isCollisionResistant()).isTrue();
+        assertThat(new CacheSettings(null, null, null, null, null, ContentDigest.SHA_256, Map.of("test", contentAddressed)).digestAlgorithm())
+                .isEqualTo(ContentDigest.SHA_256);
+        assertThat(new CacheSettings(null, null, null, null, null, null, Map.of("test", contentAddressed)).digestAlgorithm())
+                .isEqualTo(ContentDigest.SHA_256);
+        assertThat(new CacheSettings(null, null, null, null, null, null, null).digestAlgorithm())
+                .isEqualTo(ContentDigest.MD5);
+        assertThatThrownBy(() -> new CacheSettings(null, null, null, null, null, ContentDigest.MURMUR3_128, Map.of("test", contentAddressed)))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new CacheSettings(null, null, null, null, null, ContentDigest.MD5, Map.of("test", contentAddressed)))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,223 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 TweetWallFX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.tweetwallfx.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.time.Clock;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class FrontTierTest {
+
+    private final MutableClock clock = new MutableClock();
+    private final FrontTier<String, String> frontTier = new FrontTier<>(
+            new CacheSettings.FrontTierSetting(100, null, 1L, ChronoUnit.MINUTES), clock);
+
+    @Test
+    void addedValueIsReturned() {
+        assertThat(frontTier.get("a")).isNull();
+
+        frontTier.add("a", "aaa", frontTier.stamp());
+
+        assertThat(frontTier.get("a")).isEqualTo("aaa");
+        assertThat(frontTier.size()).isEqualTo(1);
+    }
+
+    @Test
+    void invalidatedValueIsNotReturned() {
+        frontTier.add("a", "aaa", frontTier.stamp());
+        frontTier.add("b", "bbb", frontTier.stamp());
+
+        frontTier.invalidate("a");
+        assertThat(frontTier.get("a")).isNull();
+        assertThat(frontTier.get("b")).isEqualTo("bbb");
+
+        frontTier.invalidateAll();
+        assertThat(frontTier.get("b")).isNull();
+        assertThat(frontTier.size()).isZero();
+    }
+
+    @Test
+    void valueReadBeforeAnInvalidationIsNotAdded() {
+        final long stamp = frontTier.stamp();
+        frontTier.invalidate("a");
+
+        frontTier.add("a", "outdated", stamp);
+
+        assertThat(frontTier.get("a")).isNull();
+        assertThat(frontTier.size()).isZero();
+    }
+
+    @Test
+    void valueIsNotReturnedAfterMaxAge() {
+        frontTier.add("a", "aaa", frontTier.stamp());
+
+        clock.advance(60_000);
+        assertThat(frontTier.get("a")).isEqualTo("aaa");
+
+        clock.advance(1);
+        assertThat(frontTier.get("a")).isNull();
+        assertThat(frontTier.size()).isZero();
+    }
+
+    @Test
+    void sizeIsBoundedByMaxEntries() {
+        for (int i = 0; i < 1_000; i++) {
+            frontTier.add("key" + i, "value" + i, frontTier.stamp());
+        }
+
+        assertThat(frontTier.size()).isLessThanOrEqualTo(100);
+    }
+
+    @Test
+    void invalidatedValuesDoNotCountTowardsMaxEntries() {
+        for (int i = 0; i < 100; i++) {
+            frontTier.add("key" + i, "value" + i, frontTier.stamp());
+        }
+
+        for (int i = 0; i < 50; i++) {
+            frontTier.invalidate("key" + i);
+        }
+
+        assertThat(frontTier.weight()).isEqualTo(50);
+
+        for (int i = 100; i < 150; i++) {
+            frontTier.add("key" + i, "value" + i, frontTier.stamp());
+        }
+
+        for (int i = 50; i < 150; i++) {
+            assertThat(frontTier.get("key" + i)).isEqualTo("value" + i);
+        }
+
+        assertThat(frontTier.size()).isEqualTo(100);
+    }
+
+    @Test
+    void weightIsBoundedByMaxMegaBytes() {
+        final FrontTier<String, byte[]> weighedFrontTier = new FrontTier<>(
+                new CacheSettings.FrontTierSetting(1_000, 1, 1L, ChronoUnit.MINUTES), value -> value.length, clock);
+
+        for (int i = 0; i < 100; i++) {
+            weighedFrontTier.add("key" + i, new byte[64 * 1024], weighedFrontTier.stamp());
+        }
+
+        assertThat(weighedFrontTier.weight()).isLessThanOrEqualTo(1024 * 1024);
+        assertThat(weighedFrontTier.size()).isLessThanOrEqualTo(16);
+    }
+
+    @Test
+    void valueExceedingMaxMegaBytesIsNotHeld() {
+        final FrontTier<String, byte[]> weighedFrontTier = new FrontTier<>(
+                new CacheSettings.FrontTierSetting(1_000, 1, 1L, ChronoUnit.MINUTES), value -> value.length, clock);
+        weighedFrontTier.add("small", new byte[1024], weighedFrontTier.stamp());
+
+        weighedFrontTier.add("huge", new byte[2 * 1024 * 1024], weighedFrontTier.stamp());
+
+        assertThat(weighedFrontTier.get("huge")).isNull();
+        assertThat(weighedFrontTier.get("small")).hasSize(1024);
+        assertThat(weighedFrontTier.weight()).isEqualTo(1024);
+    }
+
+    @Test
+    void frequentlyAccessedValuesSurviveAScan() {
+        for (int i = 0; i < 50; i++) {
+            frontTier.add("hot" + i, "value" + i, frontTier.stamp());
+        }
+
+        for (int round = 0; round < 5; round++) {
+            for (int i = 0; i < 50; i++) {
+                frontTier.get("hot" + i);
+            }
+        }
+
+        for (int i = 0; i < 1_000; i++) {
+            if (null == frontTier.get("cold" + i)) {
+                frontTier.add("cold" + i, "value" + i, frontTier.stamp());
+            }
+        }
+
+        for (int i = 0; i < 50; i++) {
+            assertThat(frontTier.get("hot" + i)).isEqualTo("value" + i);
+        }
+    }
+
+    @Test
+    void frequentlyAccessedValueDisplacesSeveralColdValues() {
+        final FrontTier<String, byte[]> weighedFrontTier = new FrontTier<>(
+                new CacheSettings.FrontTierSetting(1_000, 1, 1L, ChronoUnit.MINUTES), value -> value.length, clock);
+
+        for (int i = 0; i < 32; i++) {
+            weighedFrontTier.add("cold" + i, new byte[32 * 1024], weighedFrontTier.stamp());
+        }
+
+        for (int i = 0; i < 10; i++) {
+            assertThat(weighedFrontTier.get("hot")).isNull();
+        }
+
+        weighedFrontTier.add("hot", new byte[128 * 1024], weighedFrontTier.stamp());
+
+        assertThat(weighedFrontTier.get("hot")).hasSize(128 * 1024);
+        for (int i = 0; i < 4; i++) {
+            assertThat(weighedFrontTier.get("cold" + i)).isNull();
+        }
+        for (int i = 4; i < 32; i++) {
+            assertThat(weighedFrontTier.get("cold" + i)).hasSize(32 * 1024);
+        }
+        assertThat(weighedFrontTier.weight()).isEqualTo(1024 * 1024);
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private long millis;
+
+        void advance(final long millis) {
+            this.millis += millis;
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(final ZoneId zone) {
+            return this;
+        }
+
+        @Override
+        public long millis() {
+            return millis;
+        }
+
+        @Override
+        public Instant instant() {
+            return Instant.ofEpochMilli(millis);
+        }
+    }
+}
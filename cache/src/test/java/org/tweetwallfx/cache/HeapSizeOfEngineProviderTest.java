@@ -0,0 +1,85 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 TweetWallFX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.tweetwallfx.cache;
+
+import org.ehcache.CacheManager;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.CacheManagerBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.config.units.EntryUnit;
+import org.ehcache.config.units.MemoryUnit;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.stream.StreamSupport;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class HeapSizeOfEngineProviderTest {
+
+    private CacheManager cacheManager;
+
+    @BeforeEach
+    void setUp() {
+        cacheManager = CacheManagerBuilder.newCacheManagerBuilder()
+                .using(new HeapSizeOfEngineProvider())
+                .withCache("bytes", CacheConfigurationBuilder.newCacheConfigurationBuilder(
+                        String.class, URLContent.class, ResourcePoolsBuilder.newResourcePoolsBuilder().heap(1, MemoryUnit.MB)))
+                .withCache("entries", CacheConfigurationBuilder.newCacheConfigurationBuilder(
+                        String.class, URLContent.class, ResourcePoolsBuilder.newResourcePoolsBuilder().heap(5, EntryUnit.ENTRIES)))
+                .build(true);
+    }
+
+    @AfterEach
+    void tearDown() {
+        cacheManager.close();
+    }
+
+    @Test
+    void heapSizedInMemoryUnitsIsBoundByContentSize() {
+        final org.ehcache.Cache<String, URLContent> cache = cacheManager.getCache("bytes", String.class, URLContent.class);
+
+        for (int i = 0; i < 20; i++) {
+            cache.put("https://host/image" + i, new URLContent(new byte[200 * 1024], "digest" + i));
+        }
+
+        assertThat(size(cache)).isBetween(1L, 5L);
+    }
+
+    @Test
+    void heapSizedInEntriesIsBoundByEntryCount() {
+        final org.ehcache.Cache<String, URLContent> cache = cacheManager.getCache("entries", String.class, URLContent.class);
+
+        for (int i = 0; i < 20; i++) {
+            cache.put("https://host/image" + i, new URLContent(new byte[200 * 1024], "digest" + i));
+        }
+
+        assertThat(size(cache)).isEqualTo(5L);
+    }
+
+    private static long size(final org.ehcache.Cache<String, URLContent> cache) {
+        return StreamSupport.stream(cache.spliterator(), false).count();
+    }
+}
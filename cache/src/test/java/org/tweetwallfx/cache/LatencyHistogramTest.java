@@ -0,0 +1,64 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 TweetWallFX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.tweetwallfx.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.concurrent.TimeUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class LatencyHistogramTest {
+
+    private final LatencyHistogram histogram = new LatencyHistogram();
+
+    @Test
+    void emptyHistogramReportsZero() {
+        assertThat(histogram.count()).isZero();
+        assertThat(histogram.percentileMillis(0.5)).isZero();
+        assertThat(histogram.maxMillis()).isZero();
+    }
+
+    @Test
+    void percentilesAreBoundedByTheirBucket() {
+        for (int i = 1; i <= 100; i++) {
+            histogram.record(TimeUnit.MILLISECONDS.toNanos(i));
+        }
+
+        assertThat(histogram.count()).isEqualTo(100);
+        // the 50th latency of 50 ms lies in the bucket of 32.768 to 65.536 ms
+        assertThat(histogram.percentileMillis(0.5)).isEqualTo(65.536);
+        // the upper bound of the last bucket is capped by the maximum
+        assertThat(histogram.percentileMillis(0.99)).isEqualTo(100);
+        assertThat(histogram.maxMillis()).isEqualTo(100);
+    }
+
+    @Test
+    void negativeLatencyIsRecordedAsZero() {
+        histogram.record(-1);
+
+        assertThat(histogram.count()).isEqualTo(1);
+        assertThat(histogram.percentileMillis(1)).isZero();
+    }
+}
@@ -0,0 +1,128 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 TweetWallFX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.tweetwallfx.cache;
+
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.ZoneId;
+import java.time.ZoneOffset;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class NegativeCacheTest {
+
+    private final MutableClock clock = new MutableClock();
+    private final NegativeCache negativeCache = new NegativeCache(
+            new CacheSettings.NegativeCaching(1L, 8L, ChronoUnit.MINUTES, 2),
+            clock);
+    private final IOException failure = new IOException("404");
+
+    @Test
+    void failedUrlIsBackedOffUntilBackoffHasPassed() {
+        negativeCache.failed("url", failure);
+
+        assertThat(negativeCache.getFailure("url"))
+                .isInstanceOf(NegativeCache.BackoffException.class)
+                .hasCause(failure);
+        assertThat(negativeCache.getFailure("other")).isNull();
+
+        clock.advance(Duration.ofMinutes(1));
+        assertThat(negativeCache.getFailure("url")).isNull();
+        assertThat(negativeCache.hitCount()).isEqualTo(1);
+        assertThat(negativeCache.missCount()).isEqualTo(2);
+    }
+
+    @Test
+    void backoffDoublesUpToMaxTtl() {
+        for (final long expectedMinutes : new long[]{1, 2, 4, 8, 8}) {
+            negativeCache.failed("url", failure);
+
+            clock.advance(Duration.ofMinutes(expectedMinutes).minusSeconds(1));
+            assertThat(negativeCache.isBackedOff("url")).isTrue();
+            clock.advance(Duration.ofSeconds(1));
+            assertThat(negativeCache.isBackedOff("url")).isFalse();
+        }
+    }
+
+    @Test
+    void failureOlderThanMaxTtlNoLongerCounts() {
+        negativeCache.failed("url", failure);
+        clock.advance(Duration.ofMinutes(1));
+        negativeCache.failed("url", failure);
+        clock.advance(Duration.ofMinutes(2).plus(Duration.ofMinutes(9)));
+
+        negativeCache.failed("url", failure);
+        clock.advance(Duration.ofMinutes(1));
+        assertThat(negativeCache.isBackedOff("url")).isFalse();
+    }
+
+    @Test
+    void succeededUrlIsForgotten() {
+        negativeCache.failed("url", failure);
+        negativeCache.succeeded("url");
+
+        assertThat(negativeCache.isBackedOff("url")).isFalse();
+        assertThat(negativeCache.size()).isZero();
+    }
+
+    @Test
+    void leastRecentlyFailedUrlsAreForgotten() {
+        negativeCache.failed("one", failure);
+        negativeCache.failed("two", failure);
+        negativeCache.failed("three", failure);
+
+        assertThat(negativeCache.size()).isEqualTo(2);
+        assertThat(negativeCache.isBackedOff("one")).isFalse();
+        assertThat(negativeCache.isBackedOff("three")).isTrue();
+    }
+
+    private static final class MutableClock extends Clock {
+
+        private Instant instant = Instant.parse("2022-10-01T10:00:00Z");
+
+        void advance(final Duration duration) {
+            instant = instant.plus(duration);
+        }
+
+        @Override
+        public ZoneId getZone() {
+            return ZoneOffset.UTC;
+        }
+
+        @Override
+        public Clock withZone(final ZoneId zone) {
+            throw new UnsupportedOperationException();
+        }
+
+        @Override
+        public Instant instant() {
+            return instant;
+        }
+    }
+}
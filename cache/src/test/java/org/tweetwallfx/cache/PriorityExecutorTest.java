@@ -0,0 +1,159 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 TweetWallFX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.tweetwallfx.cache;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.params.ParameterizedTest;
+import org.junit.jupiter.params.provider.EnumSource;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class PriorityExecutorTest {
+
+    private static final ThreadFactory THREAD_FACTORY = r -> {
+        final Thread t = new Thread(r, "priorityExecutorTest");
+        t.setDaemon(true);
+        return t;
+    };
+    private final List<String> started = new CopyOnWriteArrayList<>();
+    private PriorityExecutor executor;
+
+    @ParameterizedTest
+    @EnumSource(CacheSettings.ContentLoaderMode.class)
+    void waitingTasksAreStartedByPriority(final CacheSettings.ContentLoaderMode mode) throws InterruptedException {
+        executor = create(mode, 1);
+        final CountDownLatch release = blockExecutor();
+
+        executor.execute(record("prefetch1"), LoadPriority.PREFETCH);
+        executor.execute(record("next1"));
+        executor.execute(record("visible"), LoadPriority.VISIBLE);
+        executor.execute(record("prefetch2"), LoadPriority.PREFETCH);
+        executor.execute(record("next2"), LoadPriority.NEXT);
+        assertThat(executor.getQueueSize()).isEqualTo(5);
+
+        release.countDown();
+        awaitStarted(5);
+        assertThat(started).containsExactly("visible", "next1", "next2", "prefetch1", "prefetch2");
+    }
+
+    @ParameterizedTest
+    @EnumSource(CacheSettings.ContentLoaderMode.class)
+    void waitingTaskIsPromoted(final CacheSettings.ContentLoaderMode mode) throws InterruptedException {
+        executor = create(mode, 1);
+        final CountDownLatch release = blockExecutor();
+
+        final PriorityExecutor.Task prefetch = executor.execute(record("prefetch"), LoadPriority.PREFETCH);
+        executor.execute(record("next"), LoadPriority.NEXT);
+        final PriorityExecutor.Task visible = executor.execute(record("visible"), LoadPriority.VISIBLE);
+        executor.promote(prefetch, LoadPriority.VISIBLE);
+        // lowering the priority is not supported
+        executor.promote(visible, LoadPriority.PREFETCH);
+
+        release.countDown();
+        awaitStarted(3);
+        assertThat(started).containsExactly("prefetch", "visible", "next");
+    }
+
+    @ParameterizedTest
+    @EnumSource(CacheSettings.ContentLoaderMode.class)
+    void waitingTaskIsTakenOver(final CacheSettings.ContentLoaderMode mode) throws InterruptedException {
+        executor = create(mode, 1);
+        final CountDownLatch release = blockExecutor();
+
+        final PriorityExecutor.Task prefetch = executor.execute(record("prefetch"), LoadPriority.PREFETCH);
+        executor.execute(record("next"), LoadPriority.NEXT);
+        assertThat(executor.takeOver(prefetch)).isTrue();
+        assertThat(executor.takeOver(prefetch)).isFalse();
+
+        release.countDown();
+        awaitStarted(1);
+        assertThat(started).containsExactly("next");
+        assertThat(executor.getQueueSize()).isZero();
+    }
+
+    @Test
+    void threadPerTaskLimitsRunningTasks() throws InterruptedException {
+        executor = create(CacheSettings.ContentLoaderMode.VIRTUAL_THREADS, 2);
+        final AtomicInteger running = new AtomicInteger();
+        final AtomicInteger maxRunning = new AtomicInteger();
+
+        for (int i = 0; i < 20; i++) {
+            final String name = "task" + i;
+            executor.execute(() -> {
+                maxRunning.accumulateAndGet(running.incrementAndGet(), Math::max);
+                try {
+                    Thread.sleep(5);
+                } catch (final InterruptedException ie) {
+                    Thread.currentThread().interrupt();
+                }
+                running.decrementAndGet();
+                started.add(name);
+            });
+        }
+
+        awaitStarted(20);
+        assertThat(started).hasSize(20);
+        assertThat(maxRunning).hasValue(2);
+        assertThat(executor.getQueueSize()).isZero();
+    }
+
+    private static PriorityExecutor create(final CacheSettings.ContentLoaderMode mode, final int maxConcurrentTasks) {
+        return switch (mode) {
+            case PLATFORM_THREADS -> PriorityExecutor.fixedThreadPool(maxConcurrentTasks, THREAD_FACTORY);
+            case VIRTUAL_THREADS -> PriorityExecutor.threadPerTask(maxConcurrentTasks, THREAD_FACTORY);
+        };
+    }
+
+    private CountDownLatch blockExecutor() throws InterruptedException {
+        final CountDownLatch running = new CountDownLatch(1);
+        final CountDownLatch release = new CountDownLatch(1);
+        executor.execute(() -> {
+            running.countDown();
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (final InterruptedException ie) {
+                Thread.currentThread().interrupt();
+            }
+        }, LoadPriority.VISIBLE);
+        assertThat(running.await(10, TimeUnit.SECONDS)).isTrue();
+        return release;
+    }
+
+    private Runnable record(final String name) {
+        return () -> started.add(name);
+    }
+
+    private void awaitStarted(final int count) throws InterruptedException {
+        for (int i = 0; i < 1_000 && started.size() < count; i++) {
+            Thread.sleep(10);
+        }
+    }
+}
@@ -25,18 +25,40 @@ package org.tweetwallfx.cache;
 
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoSettings;
 
+import java.io.IOException;
 import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.Clock;
+import java.time.Duration;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executor;
 import java.util.concurrent.ExecutorService;
 import java.util.concurrent.Executors;
-import java.util.concurrent.ThreadFactory;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicReference;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.catchThrowable;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.argThat;
 import static org.mockito.ArgumentMatchers.eq;
-import static org.mockito.ArgumentMatchers.isA;
+import static org.mockito.Mockito.doAnswer;
 import static org.mockito.Mockito.mockStatic;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.times;
 import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.verifyNoMoreInteractions;
 import static org.mockito.Mockito.when;
@@ -54,18 +76,18 @@ class URLContentCacheBaseTest {
 
     @BeforeEach
     void setUp() {
-        cacheBase = new URLContentCacheBase("test", urlContentCache, contentLoader) {
+        cacheBase = new URLContentCacheBase("test", options(contentLoader).build()) {
         };
     }
 
     @Test
     void testGetDefault() {
-        try (var cacheManagerProvider = mockStatic(CacheManagerProvider.class);
-             var executors = mockStatic(Executors.class)) {
+        try (var cacheManagerProvider = mockStatic(CacheManagerProvider.class)) {
             cacheManagerProvider.when(() -> CacheManagerProvider.getCache("default", String.class,
                     URLContent.class)).thenReturn(urlContentCache);
-            executors.when(() -> Executors.newFixedThreadPool(eq(2), isA(ThreadFactory.class))).thenReturn(contentLoader);
             assertThat(URLContentCacheBase.getDefault()).isNotNull();
+            // loads are queued by priority
+            assertThat(URLContentCacheBase.getDefault().getQueuedTaskCount()).isZero();
             verifyNoMoreInteractions(urlContentCache, contentLoader, cachedValue);
         }
     }
@@ -94,10 +116,235 @@ class URLContentCacheBaseTest {
         assertThat(cacheBase.getCachedOrLoad("file:///two")).isEqualTo(cachedValue);
     }
 
+    @Test
+    void concurrentRequestsShareOneLoad(@TempDir final Path tempDir) throws Exception {
+        final String urlString = Files.write(tempDir.resolve("content.txt"), "content".getBytes(StandardCharsets.UTF_8))
+                .toUri().toString();
+        final CountDownLatch putStarted = new CountDownLatch(1);
+        final CountDownLatch releasePut = new CountDownLatch(1);
+        when(urlContentCache.get(urlString)).thenReturn(null);
+        doAnswer(invocation -> {
+            putStarted.countDown();
+            return releasePut.await(10, TimeUnit.SECONDS);
+        }).when(urlContentCache).put(eq(urlString), any());
+
+        final ExecutorService requests = Executors.newFixedThreadPool(4);
+        try {
+            final List<Future<URLContent>> results = new ArrayList<>();
+            results.add(requests.submit(() -> cacheBase.getCachedOrLoad(urlString)));
+            assertThat(putStarted.await(10, TimeUnit.SECONDS)).isTrue();
+
+            for (int i = 0; i < 3; i++) {
+                results.add(requests.submit(() -> cacheBase.getCachedOrLoad(urlString)));
+            }
+            for (int i = 0; i < 1_000 && cacheBase.getCoalescedRequestCount() < 3; i++) {
+                Thread.sleep(10);
+            }
+            releasePut.countDown();
+
+            final URLContent expected = results.get(0).get(10, TimeUnit.SECONDS);
+            assertThat(expected.data()).isEqualTo("content".getBytes(StandardCharsets.UTF_8));
+            for (final Future<URLContent> result : results) {
+                assertThat(result.get(10, TimeUnit.SECONDS)).isSameAs(expected);
+            }
+        } finally {
+            requests.shutdownNow();
+        }
+
+        verify(urlContentCache, times(1)).put(eq(urlString), any());
+        assertThat(cacheBase.getLoadCount()).isEqualTo(1);
+        assertThat(cacheBase.getCoalescedRequestCount()).isEqualTo(3);
+    }
+
+    @Test
+    void requestsForPrefetchedContentDoNotBlockTheOnlyLoaderThread(@TempDir final Path tempDir) throws Exception {
+        final String urlString = Files.write(tempDir.resolve("content.txt"), "content".getBytes(StandardCharsets.UTF_8))
+                .toUri().toString();
+        final AtomicReference<URLContent> stored = new AtomicReference<>();
+        when(urlContentCache.get(urlString)).thenAnswer(invocation -> stored.get());
+        doAnswer(invocation -> {
+            stored.set(invocation.getArgument(1));
+            return null;
+        }).when(urlContentCache).put(eq(urlString), any());
+        final PriorityExecutor singleLoader = PriorityExecutor.fixedThreadPool(1, r -> {
+            final Thread t = new Thread(r, "singleLoader");
+            t.setDaemon(true);
+            return t;
+        });
+        final URLContentCacheBase singleLoaderCacheBase = new URLContentCacheBase("test", options(singleLoader).build()) {
+        };
+        // keeps the loader thread busy until all requests are waiting
+        final CountDownLatch release = new CountDownLatch(1);
+        singleLoader.execute(() -> {
+            try {
+                release.await(10, TimeUnit.SECONDS);
+            } catch (final InterruptedException ie) {
+                Thread.currentThread().interrupt();
+            }
+        }, LoadPriority.VISIBLE);
+
+        final CompletableFuture<Void> prefetch = singleLoaderCacheBase.prefetch(List.of(urlString));
+        final CompletableFuture<URLContent> consumed = new CompletableFuture<>();
+        singleLoaderCacheBase.getCachedOrLoad(urlString, LoadPriority.NEXT, consumed::complete);
+        final CompletableFuture<URLContent> loadedOnLoader = new CompletableFuture<>();
+        singleLoader.execute(() -> loadedOnLoader.complete(singleLoaderCacheBase.getCachedOrLoad(urlString)), LoadPriority.VISIBLE);
+        release.countDown();
+
+        assertThat(loadedOnLoader).succeedsWithin(Duration.ofSeconds(10))
+                .satisfies(content -> assertThat(content.data()).isEqualTo("content".getBytes(StandardCharsets.UTF_8)));
+        assertThat(consumed).succeedsWithin(Duration.ofSeconds(10)).isSameAs(stored.get());
+        assertThat(prefetch).succeedsWithin(Duration.ofSeconds(10));
+        assertThat(singleLoaderCacheBase.getLoadCount()).isEqualTo(1);
+    }
+
+    @Test
+    void loadReturnsCachedContent() {
+        when(urlContentCache.get("file:///two")).thenReturn(cachedValue);
+        assertThat(cacheBase.load("file:///two")).isCompletedWithValue(cachedValue);
+        verifyNoMoreInteractions(contentLoader);
+    }
+
+    @Test
+    void loadFailureCompletesExceptionally() {
+        final URLContentCacheBase directCacheBase = new URLContentCacheBase("test", options(Runnable::run).build()) {
+        };
+        when(urlContentCache.get("file:///one")).thenReturn(null);
+        final CompletableFuture<URLContent> load = directCacheBase.load("file:///one");
+        assertThat(load).isCompletedExceptionally();
+        assertThat(catchThrowable(load::join)).hasCauseInstanceOf(IOException.class);
+    }
+
+    @Test
+    void prefetchLoadsAllMissingContent(@TempDir final Path tempDir) throws Exception {
+        final URLContentCacheBase directCacheBase = new URLContentCacheBase("test", options(Runnable::run).withPrefetchConcurrency(2).build()) {
+        };
+        final List<String> urlStrings = new ArrayList<>();
+        for (int i = 0; i < 5; i++) {
+            urlStrings.add(Files.write(tempDir.resolve("content" + i + ".txt"), new byte[]{(byte) i}).toUri().toString());
+        }
+
+        assertThat(directCacheBase.prefetch(urlStrings)).succeedsWithin(Duration.ofSeconds(10));
+        for (final String urlString : urlStrings) {
+            verify(urlContentCache).put(eq(urlString), any());
+        }
+        assertThat(directCacheBase.getLoadCount()).isEqualTo(5);
+    }
+
+    @Test
+    void prefetchReportsFailures() {
+        final URLContentCacheBase directCacheBase = new URLContentCacheBase("test", options(Runnable::run).withPrefetchConcurrency(2).build()) {
+        };
+        when(urlContentCache.get("file:///one")).thenReturn(null);
+        when(urlContentCache.get("file:///two")).thenReturn(cachedValue);
+        when(urlContentCache.get("file:///three")).thenReturn(null);
+
+        final CompletableFuture<Void> prefetch = directCacheBase.prefetch(List.of("file:///one", "file:///two", "file:///three"));
+        assertThat(prefetch).isCompletedExceptionally();
+        final Throwable failure = catchThrowable(prefetch::join);
+        assertThat(failure).hasCauseInstanceOf(IOException.class);
+        assertThat(failure.getCause().getSuppressed()).hasSize(1);
+    }
+
+    @Test
+    void freshContentIsServedWithoutRevalidation() {
+        final URLContentCacheBase revalidatingCacheBase = createRevalidatingCacheBase();
+        final URLContent fresh = URLContent.wrap(new byte[]{1}, null, null, null, Instant.now());
+        when(urlContentCache.get("file:///one")).thenReturn(fresh);
+
+        assertThat(revalidatingCacheBase.getCachedOrLoad("file:///one")).isSameAs(fresh);
+        assertThat(revalidatingCacheBase.getLoadCount()).isZero();
+    }
+
+    @Test
+    void staleContentIsServedWhileBeingRevalidated(@TempDir final Path tempDir) throws Exception {
+        final URLContentCacheBase revalidatingCacheBase = createRevalidatingCacheBase();
+        final String urlString = Files.write(tempDir.resolve("content.txt"), new byte[]{2}).toUri().toString();
+        final URLContent stale = URLContent.wrap(new byte[]{1}, null, null, null, Instant.now().minus(Duration.ofMinutes(10)));
+        when(urlContentCache.get(urlString)).thenReturn(stale);
+
+        assertThat(revalidatingCacheBase.getCachedOrLoad(urlString)).isSameAs(stale);
+        verify(urlContentCache).put(eq(urlString), argThat(urlc -> Arrays.equals(new byte[]{2}, urlc.data())));
+        assertThat(revalidatingCacheBase.getLoadCount()).isEqualTo(1);
+    }
+
+    @Test
+    void expiredContentIsRevalidatedBeforeBeingServed(@TempDir final Path tempDir) throws Exception {
+        final URLContentCacheBase revalidatingCacheBase = createRevalidatingCacheBase();
+        final String urlString = Files.write(tempDir.resolve("content.txt"), new byte[]{2}).toUri().toString();
+        final URLContent expired = URLContent.wrap(new byte[]{1}, null, null, null, Instant.now().minus(Duration.ofHours(2)));
+        when(urlContentCache.get(urlString)).thenReturn(expired);
+
+        assertThat(revalidatingCacheBase.getCachedOrLoad(urlString).data()).containsExactly(2);
+        verify(urlContentCache).put(eq(urlString), any());
+    }
+
+    @Test
+    void staleContentIsKeptIfRevalidationFails() {
+        final URLContentCacheBase revalidatingCacheBase = createRevalidatingCacheBase();
+        final URLContent expired = URLContent.wrap(new byte[]{1}, null, null, null, Instant.now().minus(Duration.ofHours(2)));
+        when(urlContentCache.get("file:///one")).thenReturn(expired);
+
+        assertThat(revalidatingCacheBase.getCachedOrLoad("file:///one")).isSameAs(expired);
+        verify(urlContentCache, never()).put(any(), any());
+    }
+
+    @Test
+    void failedLoadIsBackedOff() {
+        final URLContentCacheBase backingOffCacheBase = new URLContentCacheBase("test", options(Runnable::run)
+                .withNegativeCache(new NegativeCache(new CacheSettings.NegativeCaching(null, null, null, null), Clock.systemUTC()))
+                .build()) {
+        };
+        when(urlContentCache.get("file:///one")).thenReturn(null);
+
+        assertThat(backingOffCacheBase.getCachedOrLoad("file:///one")).isEqualTo(NO_CONTENT);
+        assertThat(backingOffCacheBase.getCachedOrLoad("file:///one")).isEqualTo(NO_CONTENT);
+        assertThat(catchThrowable(backingOffCacheBase.load("file:///one")::join))
+                .hasCauseInstanceOf(NegativeCache.BackoffException.class);
+        assertThat(backingOffCacheBase.getLoadCount()).isEqualTo(1);
+        assertThat(backingOffCacheBase.getNegativeCacheHitCount()).isEqualTo(2);
+        assertThat(backingOffCacheBase.getNegativeCacheMissCount()).isEqualTo(1);
+    }
+
+    @Test
+    void statisticsAreRecorded(@TempDir final Path tempDir) throws Exception {
+        final URLContentCacheBase directCacheBase = new URLContentCacheBase("test", options(Runnable::run).build()) {
+        };
+        final String urlString = Files.write(tempDir.resolve("content.txt"), new byte[]{1, 2, 3}).toUri().toString();
+        when(urlContentCache.get(urlString)).thenReturn(null);
+        when(urlContentCache.get("file:///two")).thenReturn(cachedValue);
+        when(urlContentCache.get("file:///missing")).thenReturn(null);
+
+        directCacheBase.getCachedOrLoad(urlString);
+        directCacheBase.getCachedOrLoad("file:///two");
+        directCacheBase.getCachedOrLoad("file:///missing");
+
+        assertThat(directCacheBase.getHitCount()).isEqualTo(1);
+        assertThat(directCacheBase.getMissCount()).isEqualTo(2);
+        assertThat(directCacheBase.getLoadCount()).isEqualTo(2);
+        assertThat(directCacheBase.getLoadFailureCount()).isEqualTo(1);
+        assertThat(directCacheBase.getLoadedBytes()).isEqualTo(3);
+        assertThat(directCacheBase.getLoadLatencyMaxMillis()).isGreaterThanOrEqualTo(directCacheBase.getLoadLatencyMedianMillis());
+        assertThat(directCacheBase.getInFlightLoadCount()).isZero();
+        assertThat(directCacheBase.getQueuedTaskCount()).isEqualTo(-1);
+    }
+
     @Test
     void putCachedContent() {
         cacheBase.putCachedContent("file:///one", InputStream.nullInputStream());
         verify(urlContentCache).put("file:///one", NO_CONTENT);
         verifyNoMoreInteractions(urlContentCache, contentLoader, cachedValue);
     }
+
+    private URLContentCacheBase createRevalidatingCacheBase() {
+        return new URLContentCacheBase("test", options(Runnable::run)
+                .withRevalidation(new CacheSettings.CacheRevalidation(1L, 30L, ChronoUnit.MINUTES))
+                .build()) {
+        };
+    }
+
+    private URLContentCacheBase.Options.Builder options(final Executor contentLoader) {
+        return URLContentCacheBase.Options.builder()
+                .withContentCache(urlContentCache)
+                .withContentLoader(contentLoader);
+    }
 }
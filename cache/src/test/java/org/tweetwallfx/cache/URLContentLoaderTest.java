@@ -0,0 +1,206 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 TweetWallFX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.tweetwallfx.cache;
+
+import com.sun.net.httpserver.HttpServer;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.OutputStream;
+import java.net.InetAddress;
+import java.net.InetSocketAddress;
+import java.net.http.HttpClient;
+import java.net.http.HttpTimeoutException;
+import java.nio.charset.StandardCharsets;
+import java.time.Duration;
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class URLContentLoaderTest {
+
+    private final ExecutorService serverExecutor = Executors.newCachedThreadPool();
+    private final CountDownLatch releaseSlowResponse = new CountDownLatch(1);
+    private final AtomicInteger runningRequests = new AtomicInteger();
+    private final AtomicInteger maxRunningRequests = new AtomicInteger();
+    private HttpServer server;
+
+    @BeforeEach
+    void setUp() throws IOException {
+        server = HttpServer.create(new InetSocketAddress(InetAddress.getLoopbackAddress(), 0), 0);
+        server.setExecutor(serverExecutor);
+        server.createContext("/content", exchange -> {
+            final byte[] body = "content".getBytes(StandardCharsets.UTF_8);
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.createContext("/validated", exchange -> {
+            if ("\"v1\"".equals(exchange.getRequestHeaders().getFirst("If-None-Match"))) {
+                exchange.sendResponseHeaders(304, -1);
+                exchange.close();
+                return;
+            }
+            final byte[] body = "content".getBytes(StandardCharsets.UTF_8);
+            exchange.getResponseHeaders().add("ETag", "\"v1\"");
+            exchange.getResponseHeaders().add("Last-Modified", "Wed, 21 Oct 2015 07:28:00 GMT");
+            exchange.sendResponseHeaders(200, body.length);
+            try (OutputStream out = exchange.getResponseBody()) {
+                out.write(body);
+            }
+        });
+        server.createContext("/missing", exchange -> {
+            exchange.sendResponseHeaders(404, -1);
+            exchange.close();
+        });
+        server.createContext("/slow", exchange -> {
+            final int running = runningRequests.incrementAndGet();
+            maxRunningRequests.accumulateAndGet(running, Math::max);
+            try {
+                releaseSlowResponse.await(10, TimeUnit.SECONDS);
+            } catch (final InterruptedException ie) {
+                Thread.currentThread().interrupt();
+            }
+            runningRequests.decrementAndGet();
+            exchange.sendResponseHeaders(200, -1);
+            exchange.close();
+        });
+        server.start();
+    }
+
+    @AfterEach
+    void tearDown() {
+        releaseSlowResponse.countDown();
+        server.stop(0);
+        serverExecutor.shutdownNow();
+    }
+
+    @Test
+    void contentIsLoaded() throws IOException {
+        final URLContent content = createLoader(Duration.ofSeconds(10), 4).load(url("/content"));
+
+        assertThat(content.data()).isEqualTo("content".getBytes(StandardCharsets.UTF_8));
+        assertThat(content.digest()).isEqualTo("9a0364b9e99bb480dd25e1f0284c8555");
+    }
+
+    @Test
+    void notModifiedContentIsRevalidated() throws IOException {
+        final URLContentLoader loader = createLoader(Duration.ofSeconds(10), 4);
+        final URLContent loaded = loader.load(url("/validated"));
+        final URLContent stale = URLContent.wrap(loaded.data(), loaded.digest(), loaded.etag(), loaded.lastModified(), Instant.EPOCH);
+
+        final URLContent revalidated = loader.revalidate(url("/validated"), stale);
+
+        assertThat(loaded.etag()).isEqualTo("\"v1\"");
+        assertThat(loaded.lastModified()).isEqualTo("Wed, 21 Oct 2015 07:28:00 GMT");
+        assertThat(revalidated).isEqualTo(loaded);
+        assertThat(revalidated.loadedAt()).isAfter(Instant.EPOCH);
+    }
+
+    @Test
+    void modifiedContentIsReloaded() throws IOException {
+        final URLContentLoader loader = createLoader(Duration.ofSeconds(10), 4);
+        final URLContent stale = URLContent.wrap(new byte[]{1}, "digest", "\"v0\"", null, Instant.EPOCH);
+
+        final URLContent revalidated = loader.revalidate(url("/validated"), stale);
+
+        assertThat(revalidated.data()).isEqualTo("content".getBytes(StandardCharsets.UTF_8));
+        assertThat(revalidated.etag()).isEqualTo("\"v1\"");
+    }
+
+    @Test
+    void errorStatusFailsLoading() {
+        final URLContentLoader loader = createLoader(Duration.ofSeconds(10), 4);
+
+        assertThatThrownBy(() -> loader.load(url("/missing")))
+                .isInstanceOf(IOException.class)
+                .hasMessageContaining("404");
+    }
+
+    @Test
+    void stalledResponseTimesOut() {
+        final URLContentLoader loader = createLoader(Duration.ofMillis(200), 4);
+
+        assertThatThrownBy(() -> loader.load(url("/slow")))
+                .isInstanceOf(HttpTimeoutException.class);
+    }
+
+    @Test
+    void concurrentRequestsPerHostAreCapped() throws Exception {
+        final URLContentLoader loader = createLoader(Duration.ofSeconds(10), 2);
+        final ExecutorService requests = Executors.newFixedThreadPool(6);
+
+        try {
+            final List<Future<URLContent>> results = new ArrayList<>();
+            for (int i = 0; i < 6; i++) {
+                results.add(requests.submit(() -> loader.load(url("/slow"))));
+            }
+            for (int i = 0; i < 1_000 && runningRequests.get() < 2; i++) {
+                Thread.sleep(10);
+            }
+            // give requests exceeding the cap the chance to show up at the server
+            Thread.sleep(200);
+            releaseSlowResponse.countDown();
+
+            for (final Future<URLContent> result : results) {
+                assertThat(result.get(10, TimeUnit.SECONDS).length()).isZero();
+            }
+        } finally {
+            requests.shutdownNow();
+        }
+
+        assertThat(maxRunningRequests.get()).isEqualTo(2);
+    }
+
+    @Test
+    void onlyHttpUrlsAreLoadedWithTheHttpClient() {
+        assertThat(URLContentLoader.isHttp("http://example.org/image.png")).isTrue();
+        assertThat(URLContentLoader.isHttp("HTTPS://example.org/image.png")).isTrue();
+        assertThat(URLContentLoader.isHttp("file:///image.png")).isFalse();
+    }
+
+    private static URLContentLoader createLoader(final Duration requestTimeout, final int maxConcurrentRequestsPerHost) {
+        return new URLContentLoader(
+                HttpClient.newBuilder().version(HttpClient.Version.HTTP_2).build(),
+                requestTimeout,
+                maxConcurrentRequestsPerHost,
+                ContentDigest.MD5);
+    }
+
+    private String url(final String path) {
+        return "http://" + server.getAddress().getHostString() + ":" + server.getAddress().getPort() + path;
+    }
+}
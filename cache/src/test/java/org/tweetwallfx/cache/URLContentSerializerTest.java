@@ -0,0 +1,156 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 TweetWallFX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.tweetwallfx.cache;
+
+import org.ehcache.PersistentCacheManager;
+import org.ehcache.config.builders.CacheConfigurationBuilder;
+import org.ehcache.config.builders.CacheManagerBuilder;
+import org.ehcache.config.builders.ResourcePoolsBuilder;
+import org.ehcache.config.units.EntryUnit;
+import org.ehcache.config.units.MemoryUnit;
+import org.ehcache.impl.serialization.CompactJavaSerializer;
+import org.ehcache.impl.serialization.TransientStateRepository;
+import org.ehcache.spi.persistence.StateRepository;
+import org.ehcache.spi.serialization.SerializerException;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.io.ByteArrayInputStream;
+import java.nio.ByteBuffer;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.Path;
+import java.time.Instant;
+import java.time.temporal.ChronoUnit;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class URLContentSerializerTest {
+
+    private final URLContentSerializer serializer = new URLContentSerializer(getClass().getClassLoader());
+
+    @Test
+    void contentIsReadAsWritten() throws Exception {
+        final URLContent content = URLContent.of(new ByteArrayInputStream(new byte[]{1, 2, 3}));
+        final ByteBuffer binary = serializer.serialize(content);
+
+        assertThat(serializer.equals(content, binary)).isTrue();
+        final URLContent read = serializer.read(binary);
+        assertThat(read).isEqualTo(content);
+        assertThat(read.loadedAt()).isEqualTo(content.loadedAt().truncatedTo(ChronoUnit.MILLIS));
+    }
+
+    @Test
+    void validatorsAreReadAsWritten() throws Exception {
+        final URLContent content = URLContent.wrap(new byte[]{1, 2, 3}, "digest", "\"v1\"", "Wed, 21 Oct 2015 07:28:00 GMT", Instant.ofEpochMilli(42));
+        final URLContent read = serializer.read(serializer.serialize(content));
+
+        assertThat(read).isEqualTo(content);
+        assertThat(read.etag()).isEqualTo("\"v1\"");
+        assertThat(read.lastModified()).isEqualTo("Wed, 21 Oct 2015 07:28:00 GMT");
+        assertThat(read.loadedAt()).isEqualTo(Instant.ofEpochMilli(42));
+    }
+
+    @Test
+    void binaryWithoutMarkerIsRejected() {
+        final ByteBuffer binary = ByteBuffer.allocate(Integer.BYTES + 6 + 3)
+                .putInt(6)
+                .put("digest".getBytes(StandardCharsets.US_ASCII))
+                .put(new byte[]{1, 2, 3})
+                .flip();
+
+        assertThatThrownBy(() -> serializer.read(binary)).isInstanceOf(SerializerException.class);
+    }
+
+    @Test
+    void contentWithoutDigestIsReadAsWritten() throws Exception {
+        final URLContent content = new URLContent(new byte[]{1, 2, 3}, null);
+
+        assertThat(serializer.read(serializer.serialize(content))).isEqualTo(content);
+    }
+
+    @Test
+    void differentContentIsNotEqual() throws Exception {
+        final URLContent content = URLContent.of(new ByteArrayInputStream(new byte[]{1, 2, 3}));
+        final URLContent other = URLContent.of(new ByteArrayInputStream(new byte[]{1, 2, 4}));
+
+        assertThat(serializer.equals(other, serializer.serialize(content))).isFalse();
+        assertThat(serializer.equals(URLContent.NO_CONTENT, serializer.serialize(content))).isFalse();
+    }
+
+    @Test
+    void contentWrittenByDefaultSerializerIsReadable() throws Exception {
+        final URLContent content = URLContent.of(new ByteArrayInputStream(new byte[]{1, 2, 3}));
+        final StateRepository stateRepository = new TransientStateRepository();
+        final CompactJavaSerializer<URLContent> defaultSerializer = new CompactJavaSerializer<>(getClass().getClassLoader());
+        defaultSerializer.init(stateRepository);
+        final ByteBuffer binary = defaultSerializer.serialize(content);
+        serializer.init(stateRepository);
+
+        assertThat(serializer.equals(content, binary.duplicate())).isTrue();
+        assertThat(serializer.read(binary)).isEqualTo(content);
+    }
+
+    @Test
+    void contentPersistedByDefaultSerializerIsReadable(@TempDir final Path tempDir) {
+        final URLContent content = URLContent.wrap(new byte[]{1, 2, 3}, "digest", "\"v1\"", null, Instant.ofEpochMilli(42));
+
+        try (PersistentCacheManager cacheManager = createPersistentCacheManager(tempDir, false)) {
+            cacheManager.getCache("test", String.class, URLContent.class).put("key", content);
+        }
+
+        try (PersistentCacheManager cacheManager = createPersistentCacheManager(tempDir, true)) {
+            final URLContent read = cacheManager.getCache("test", String.class, URLContent.class).get("key");
+
+            assertThat(read).isEqualTo(content);
+            assertThat(read.etag()).isEqualTo("\"v1\"");
+            assertThat(read.loadedAt()).isEqualTo(Instant.ofEpochMilli(42));
+        }
+    }
+
+    @Test
+    void corruptBinaryIsRejected() {
+        final ByteBuffer binary = ByteBuffer.allocate(Integer.BYTES).putInt(0, 42);
+
+        assertThatThrownBy(() -> serializer.read(binary)).isInstanceOf(SerializerException.class);
+    }
+
+    private static PersistentCacheManager createPersistentCacheManager(final Path directory, final boolean withURLContentSerializer) {
+        CacheConfigurationBuilder<String, URLContent> cacheConfiguration = CacheConfigurationBuilder.newCacheConfigurationBuilder(
+                String.class,
+                URLContent.class,
+                ResourcePoolsBuilder.newResourcePoolsBuilder()
+                        .heap(10, EntryUnit.ENTRIES)
+                        .disk(1, MemoryUnit.MB, true));
+
+        if (withURLContentSerializer) {
+            cacheConfiguration = cacheConfiguration.withValueSerializer(URLContentSerializer.class);
+        }
+
+        return CacheManagerBuilder.newCacheManagerBuilder()
+                .with(CacheManagerBuilder.persistence(directory.toFile()))
+                .withCache("test", cacheConfiguration)
+                .build(true);
+    }
+}
@@ -25,10 +25,14 @@ package org.tweetwallfx.cache;
 
 import org.junit.jupiter.api.Test;
 
+import java.io.ByteArrayInputStream;
 import java.io.IOException;
 import java.io.InputStream;
+import java.nio.ByteBuffer;
+import java.nio.ReadOnlyBufferException;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.tweetwallfx.cache.URLContent.NO_CONTENT;
 
 class URLContentTest {
@@ -38,4 +42,35 @@ class URLContentTest {
                 .isEqualTo(new URLContent(new byte[0], NO_CONTENT.digest()))
                 .isEqualTo(URLContent.of(InputStream.nullInputStream()));
     }
+
+    @Test
+    void dataIsCopied() {
+        final byte[] bytes = {1, 2, 3};
+        final URLContent content = new URLContent(bytes, null);
+
+        bytes[0] = 4;
+        content.data()[1] = 5;
+
+        assertThat(content.data()).containsExactly(1, 2, 3);
+    }
+
+    @Test
+    void contentIsReadableWithoutCopying() throws IOException {
+        final URLContent content = URLContent.of(new ByteArrayInputStream(new byte[]{1, 2, 3}));
+        final ByteBuffer buffer = content.asByteBuffer();
+
+        assertThat(content.length()).isEqualTo(3);
+        assertThat(content.getInputStream().readAllBytes()).containsExactly(1, 2, 3);
+        assertThat(buffer.remaining()).isEqualTo(3);
+        assertThat(buffer.get(2)).isEqualTo((byte) 3);
+        assertThatThrownBy(() -> buffer.put(0, (byte) 4)).isInstanceOf(ReadOnlyBufferException.class);
+    }
+
+    @Test
+    void heapSizeAccountsForData() {
+        final URLContent content = new URLContent(new byte[100_000], "d41d8cd98f00b204e9800998ecf8427e");
+
+        assertThat(content.heapSize()).isBetween(100_000L, 100_200L);
+        assertThat(content.withoutData().heapSize()).isLessThan(200L);
+    }
 }
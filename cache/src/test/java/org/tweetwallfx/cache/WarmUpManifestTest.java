@@ -0,0 +1,77 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 TweetWallFX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.tweetwallfx.cache;
+
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.io.TempDir;
+
+import java.nio.file.Path;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WarmUpManifestTest {
+
+    @TempDir
+    Path directory;
+
+    @Test
+    void mostFrequentlyAccessedKeysAreSaved() {
+        final Path file = directory.resolve("warm-up").resolve("test.manifest");
+        final WarmUpManifest manifest = new WarmUpManifest(file, 2);
+
+        access(manifest, "warm", 3);
+        access(manifest, "hot", 5);
+        access(manifest, "cold", 1);
+        manifest.save();
+
+        assertThat(new WarmUpManifest(file, 2).load()).containsExactly("hot", "warm");
+        assertThat(new WarmUpManifest(file, 1).load()).containsExactly("hot");
+    }
+
+    @Test
+    void keysNoLongerAccessedAreDropped() {
+        final Path file = directory.resolve("test.manifest");
+        final WarmUpManifest manifest = new WarmUpManifest(file, 2);
+
+        access(manifest, "hot", 4);
+        for (int i = 0; i < 8; i++) {
+            // the ninth key counted halves all counts, dropping the keys accessed once
+            access(manifest, "once" + i, 1);
+        }
+        manifest.save();
+
+        assertThat(new WarmUpManifest(file, 2).load()).containsExactly("hot");
+    }
+
+    @Test
+    void missingManifestIsEmpty() {
+        assertThat(new WarmUpManifest(directory.resolve("missing.manifest"), 2).load()).isEmpty();
+    }
+
+    private static void access(final WarmUpManifest manifest, final String key, final int count) {
+        for (int i = 0; i < count; i++) {
+            manifest.recordAccess(key);
+        }
+    }
+}
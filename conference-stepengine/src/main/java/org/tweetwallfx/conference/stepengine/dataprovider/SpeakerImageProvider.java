@@ -26,8 +26,10 @@ package org.tweetwallfx.conference.stepengine.dataprovider;
 import java.util.Map;
 import java.util.Objects;
 import java.util.Optional;
+import java.util.concurrent.CompletableFuture;
 import javafx.scene.image.Image;
 import org.tweetwallfx.cache.URLContent;
+import org.tweetwallfx.cache.fx.ImageCache;
 import org.tweetwallfx.conference.api.ConferenceClient;
 import org.tweetwallfx.conference.api.Speaker;
 import org.tweetwallfx.stepengine.api.DataProvider;
@@ -42,6 +44,7 @@ import static org.tweetwallfx.util.Nullable.valueOrDefault;
 public final class SpeakerImageProvider implements DataProvider, DataProvider.Scheduled {
 
     private final Config config;
+    private CompletableFuture<Void> avatarPrefetch = CompletableFuture.completedFuture(null);
 
     private SpeakerImageProvider(final Config config) {
         this.config = config;
@@ -68,7 +71,7 @@ public final class SpeakerImageProvider implements DataProvider, DataProvider.Sc
                     // look for configured replacement
                     : getSpeakerImage(urlReplacement);
         } else {
-            return new Image(urlc.getInputStream());
+            return ImageCache.getInstance().getImage(urlc);
         }
     }
 
@@ -83,12 +86,14 @@ public final class SpeakerImageProvider implements DataProvider, DataProvider.Sc
 
     @Override
     public void run() {
-        ConferenceClient.getClient()
+        // a prefetch still running from the previous run is superseded by this one
+        avatarPrefetch.cancel(false);
+        avatarPrefetch = ProfileImageCache.INSTANCE.prefetch(ConferenceClient.getClient()
                 .getSpeakers()
                 .stream()
                 .map(Speaker::getAvatarURL)
                 .filter(Objects::nonNull)
-                .forEach(urlString -> ProfileImageCache.INSTANCE.getCachedOrLoad(urlString, this::handleURLContent));
+                .toList());
 
         config.urlReplacements()
                 .forEach((k, v) -> ProfileImageCache.INSTANCE.putCachedContent(v, this::handleURLContent));
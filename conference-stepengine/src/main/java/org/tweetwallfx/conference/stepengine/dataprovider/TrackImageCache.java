@@ -33,7 +33,7 @@ public final class TrackImageCache extends URLContentCacheBase {
     /**
      * Cache instance.
      */
-    public static final TrackImageCache INSTANCE = new TrackImageCache();
+    public static final TrackImageCache INSTANCE = start(new TrackImageCache());
 
     private TrackImageCache() {
         super("trackImage");
@@ -24,6 +24,7 @@
 package org.tweetwallfx.conference.stepengine.dataprovider;
 
 import javafx.scene.image.Image;
+import org.tweetwallfx.cache.fx.ImageCache;
 import org.tweetwallfx.stepengine.api.DataProvider;
 import org.tweetwallfx.stepengine.api.config.StepEngineSettings;
 import static org.tweetwallfx.util.Nullable.valueOrDefault;
@@ -37,8 +38,8 @@ public class TrackImageDataProvider implements DataProvider {
     }
 
     public Image getImage(final String url) {
-        return new Image(
-                TrackImageCache.INSTANCE.getCachedOrLoad(url).getInputStream(),
+        return ImageCache.getInstance().getImage(
+                TrackImageCache.INSTANCE.getCachedOrLoad(url),
                 config.profileWidth(),
                 config.profileHeight(),
                 config.preserveRation(),
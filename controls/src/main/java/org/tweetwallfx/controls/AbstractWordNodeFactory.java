@@ -23,6 +23,7 @@
  */
 package org.tweetwallfx.controls;
 
+import javafx.geometry.Bounds;
 import javafx.scene.text.Font;
 import javafx.scene.text.Text;
 
@@ -42,6 +43,23 @@ class AbstractWordNodeFactory {
         text.setFont(Font.font(text.getFont().getFamily(), fontSize));
     }
 
+    /**
+     * Measures the layout bounds of {@code word} in the font of this factory
+     * at the given {@code fontSize}. In contrast to
+     * {@link #createTextNode(String)} no styled node is produced, which allows
+     * calling this method from threads other than the FX application thread.
+     * Measurements are shared via {@link GlyphMetricsCache}.
+     *
+     * @param word the word to measure
+     *
+     * @param fontSize the size of the font to measure the word in
+     *
+     * @return the layout bounds of the word
+     */
+    public Bounds measure(String word, double fontSize) {
+        return GlyphMetricsCache.getInstance().measure(Font.font(configuration.font.getFamily(), fontSize), word);
+    }
+
     public Text createTextNode(String word) {
         Text textNode = new Text(word);
         textNode.getStyleClass().setAll("tag");
@@ -0,0 +1,174 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 TweetWallFX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.tweetwallfx.controls;
+
+import java.util.ArrayList;
+import java.util.List;
+import javafx.geometry.Bounds;
+
+/**
+ * Uniform grid over an area used to find out whether a rectangle intersects
+ * any of the {@link Bounds} added so far without testing all of them.
+ *
+ * <p>
+ * Each added {@link Bounds} is registered in every cell it overlaps. Bounds
+ * reaching beyond the indexed area are additionally kept in an overflow list
+ * which is consulted by queries reaching beyond the area as well, so that the
+ * answers are the same as a linear scan over all added bounds.
+ */
+final class BoundsIndex {
+
+    private final double minX;
+    private final double minY;
+    private final double maxX;
+    private final double maxY;
+    private final double cellSize;
+    private final int columns;
+    private final int rows;
+    private final List<List<Bounds>> cells;
+    private final List<Bounds> overflow = new ArrayList<>();
+
+    BoundsIndex(final Bounds area, final double cellSize) {
+        this.cellSize = cellSize > 0 ? cellSize : 1;
+        this.minX = area.getMinX();
+        this.minY = area.getMinY();
+        this.maxX = area.getMaxX();
+        this.maxY = area.getMaxY();
+
+        if (area.getWidth() > 0 && area.getHeight() > 0) {
+            this.columns = (int) Math.ceil(area.getWidth() / this.cellSize);
+            this.rows = (int) Math.ceil(area.getHeight() / this.cellSize);
+        } else {
+            this.columns = 0;
+            this.rows = 0;
+        }
+
+        this.cells = new ArrayList<>(columns * rows);
+        for (int i = 0; i < columns * rows; i++) {
+            cells.add(null);
+        }
+    }
+
+    /**
+     * Adds the {@code bounds} to this index.
+     *
+     * @param bounds the bounds to add
+     */
+    void add(final Bounds bounds) {
+        if (isBeyondArea(bounds.getMinX(), bounds.getMinY(), bounds.getMaxX(), bounds.getMaxY())) {
+            overflow.add(bounds);
+        }
+
+        if (0 == columns) {
+            return;
+        }
+
+        final int fromColumn = column(bounds.getMinX());
+        final int toColumn = column(bounds.getMaxX());
+        final int fromRow = row(bounds.getMinY());
+        final int toRow = row(bounds.getMaxY());
+
+        for (int row = fromRow; row <= toRow; row++) {
+            for (int column = fromColumn; column <= toColumn; column++) {
+                final int cellIndex = row * columns + column;
+                List<Bounds> cell = cells.get(cellIndex);
+
+                if (null == cell) {
+                    cell = new ArrayList<>(4);
+                    cells.set(cellIndex, cell);
+                }
+
+                cell.add(bounds);
+            }
+        }
+    }
+
+    /**
+     * Determines if the rectangle intersects any of the bounds added to this
+     * index.
+     *
+     * @param x the minimal x coordinate of the rectangle
+     *
+     * @param y the minimal y coordinate of the rectangle
+     *
+     * @param width the width of the rectangle
+     *
+     * @param height the height of the rectangle
+     *
+     * @return {@code true} if any of the added bounds intersects the rectangle
+     */
+    boolean intersectsAny(final double x, final double y, final double width, final double height) {
+        if (isBeyondArea(x, y, x + width, y + height)
+                && intersectsAny(overflow, x, y, width, height)) {
+            return true;
+        }
+
+        if (0 == columns) {
+            return false;
+        }
+
+        final int fromColumn = column(x);
+        final int toColumn = column(x + width);
+        final int fromRow = row(y);
+        final int toRow = row(y + height);
+
+        for (int row = fromRow; row <= toRow; row++) {
+            for (int column = fromColumn; column <= toColumn; column++) {
+                final List<Bounds> cell = cells.get(row * columns + column);
+
+                if (null != cell && intersectsAny(cell, x, y, width, height)) {
+                    return true;
+                }
+            }
+        }
+
+        return false;
+    }
+
+    private static boolean intersectsAny(final List<Bounds> boundsList, final double x, final double y, final double width, final double height) {
+        for (int i = 0; i < boundsList.size(); i++) {
+            if (boundsList.get(i).intersects(x, y, width, height)) {
+                return true;
+            }
+        }
+
+        return false;
+    }
+
+    private boolean isBeyondArea(final double fromX, final double fromY, final double toX, final double toY) {
+        return fromX < minX || fromY < minY || toX > maxX || toY > maxY || 0 == columns;
+    }
+
+    private int column(final double x) {
+        return clamp((int) Math.floor((x - minX) / cellSize), columns);
+    }
+
+    private int row(final double y) {
+        return clamp((int) Math.floor((y - minY) / cellSize), rows);
+    }
+
+    private static int clamp(final int value, final int count) {
+        return Math.max(0, Math.min(count - 1, value));
+    }
+}
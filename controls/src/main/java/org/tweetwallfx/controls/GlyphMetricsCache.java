@@ -0,0 +1,169 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 TweetWallFX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.tweetwallfx.controls;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.Objects;
+import java.util.concurrent.atomic.LongAdder;
+import java.util.function.Supplier;
+import javafx.geometry.Bounds;
+import javafx.scene.text.Font;
+import javafx.scene.text.Text;
+
+/**
+ * Bounded cache of the layout bounds of words rendered in a given font.
+ *
+ * <p>
+ * Measuring a word requires a {@link Text} node and a text layout pass. As the
+ * same words are measured in the same sizes over and over again on every
+ * update of the word cloud the results are kept here, keyed by font family,
+ * style (i.e. weight and posture), size and text. The least recently used
+ * entries are evicted once the cache reaches its capacity.
+ *
+ * <p>
+ * The measurement is done on detached nodes only, so the cache can be used
+ * from threads other than the FX application thread.
+ */
+public final class GlyphMetricsCache {
+
+    private static final int DEFAULT_MAX_ENTRIES = 4096;
+    private static final GlyphMetricsCache INSTANCE = new GlyphMetricsCache(DEFAULT_MAX_ENTRIES);
+
+    private final Map<Key, Bounds> entries;
+    private final LongAdder hits = new LongAdder();
+    private final LongAdder misses = new LongAdder();
+
+    GlyphMetricsCache(final int maxEntries) {
+        if (maxEntries <= 0) {
+            throw new IllegalArgumentException("maxEntries must be positive: " + maxEntries);
+        }
+
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            private static final long serialVersionUID = 1L;
+
+            @Override
+            protected boolean removeEldestEntry(final Map.Entry<Key, Bounds> eldest) {
+                return size() > maxEntries;
+            }
+        };
+    }
+
+    /**
+     * Returns the shared instance of the cache.
+     *
+     * @return the shared instance
+     */
+    public static GlyphMetricsCache getInstance() {
+        return INSTANCE;
+    }
+
+    /**
+     * Returns the layout bounds of {@code text} rendered in {@code font},
+     * measuring it only if it is not yet cached.
+     *
+     * @param font the font to measure the text in
+     *
+     * @param text the text to measure
+     *
+     * @return the layout bounds of the text
+     */
+    public Bounds measure(final Font font, final String text) {
+        return get(new Key(font.getFamily(), font.getStyle(), font.getSize(), text), () -> {
+            final Text textNode = new Text(text);
+            textNode.setFont(font);
+            return textNode.getLayoutBounds();
+        });
+    }
+
+    Bounds get(final Key key, final Supplier<Bounds> measurement) {
+        Bounds bounds;
+
+        synchronized (entries) {
+            bounds = entries.get(key);
+        }
+
+        if (null != bounds) {
+            hits.increment();
+            return bounds;
+        }
+
+        misses.increment();
+        // measured outside of the lock, concurrent misses for the same key measure the same bounds
+        bounds = Objects.requireNonNull(measurement.get(), "measurement must not return null");
+
+        synchronized (entries) {
+            entries.put(key, bounds);
+        }
+
+        return bounds;
+    }
+
+    /**
+     * Returns the number of measurements answered from the cache.
+     *
+     * @return the number of cache hits
+     */
+    public long getHitCount() {
+        return hits.sum();
+    }
+
+    /**
+     * Returns the number of measurements that had to be done.
+     *
+     * @return the number of cache misses
+     */
+    public long getMissCount() {
+        return misses.sum();
+    }
+
+    /**
+     * Returns the number of currently cached measurements.
+     *
+     * @return the number of cached measurements
+     */
+    public int size() {
+        synchronized (entries) {
+            return entries.size();
+        }
+    }
+
+    /**
+     * Removes all cached measurements. The hit and miss counters are kept.
+     */
+    public void clear() {
+        synchronized (entries) {
+            entries.clear();
+        }
+    }
+
+    record Key(String family, String style, double size, String text) {
+
+        Key {
+            Objects.requireNonNull(family, "family must not be null");
+            Objects.requireNonNull(style, "style must not be null");
+            Objects.requireNonNull(text, "text must not be null");
+        }
+    }
+}
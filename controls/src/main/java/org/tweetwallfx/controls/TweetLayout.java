@@ -23,13 +23,14 @@
  */
 package org.tweetwallfx.controls;
 
+import java.util.ArrayList;
 import java.util.List;
 import java.util.regex.Pattern;
+import javafx.geometry.BoundingBox;
 import javafx.geometry.Bounds;
 import javafx.geometry.Point2D;
 import javafx.scene.text.Font;
 import javafx.scene.text.Text;
-import javafx.scene.text.TextFlow;
 import org.tweetwallfx.tweet.api.Tweet;
 
 public class TweetLayout {
@@ -65,24 +66,17 @@ public class TweetLayout {
         return new Point2D(x, y);
     }
 
-    private void fontSizeAdaption(Text text, double fontSize) {
-        text.setFont(Font.font(text.getFont().getFamily(), fontSize));
-    }
-
     private List<TweetWord> recalcTweetLayout() {
-        TextFlow flow = new TextFlow();
-        flow.setMaxWidth(300);
-        pattern.splitAsStream(configuration.tweet.getDisplayEnhancedText())
-                .forEach(w -> {
-                    Text textWord = wordNodeFactory.createTextNode(w.concat(" "));
-                    fontSizeAdaption(textWord, configuration.tweetFontSize);
-                    textWord.getStyleClass().setAll("tag");
-                    flow.getChildren().add(textWord);
-                });
-        flow.requestLayout();
-        return flow.getChildren().stream()
-                .map(node -> new TweetWord(node.getBoundsInParent(), ((Text) node).getText()))
-                .toList();
+        // words are placed on a single line, line breaks are applied by tweetWordLineOffset
+        List<TweetWord> words = new ArrayList<>();
+        double x = 0;
+        for (String w : pattern.split(configuration.tweet.getDisplayEnhancedText())) {
+            String text = w.concat(" ");
+            Bounds measure = wordNodeFactory.measure(text, configuration.tweetFontSize);
+            words.add(new TweetWord(new BoundingBox(x, 0, measure.getWidth(), measure.getHeight()), text));
+            x += measure.getWidth();
+        }
+        return List.copyOf(words);
     }
 
     public static TweetLayout createTweetLayout(Configuration configuration) {
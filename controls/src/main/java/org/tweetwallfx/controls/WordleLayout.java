@@ -30,7 +30,6 @@ import java.util.DoubleSummaryStatistics;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
-import java.util.Objects;
 import java.util.Random;
 import javafx.geometry.BoundingBox;
 import javafx.geometry.Bounds;
@@ -40,6 +39,13 @@ import javafx.scene.text.Text;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
 
+/**
+ * Layout of the words of a word cloud. The layout is computed from measured
+ * word sizes only and does not touch the scene graph, so it may be created on
+ * a worker thread. The nodes for the words ({@link #createTextNode(Word)},
+ * {@link #fontSizeAdaption(Text, double)}) are to be handled on the FX
+ * application thread.
+ */
 public final class WordleLayout {
 
     private static final Logger LOG = LogManager.getLogger(WordleLayout.class);
@@ -85,41 +91,79 @@ public final class WordleLayout {
         return textNode;
     }
 
+    private Bounds measure(Word word) {
+        return wordNodeFactory.measure(word.getText(), getFontSizeForWeight(word.getWeight()));
+    }
+
     private Map<Word, Bounds> calcTagLayout() {
         List<Bounds> boundsList = new ArrayList<>(configuration.words.size());
-        for (Word word : configuration.words) {
-            if (null != initialLayoutSolution) {
-                Bounds bounds = initialLayoutSolution.getWordLayoutInfo().get(word);
-                boundsList.add(bounds);
-            } else {
-                boundsList.add(null);
-            }
-        }
+        configuration.words.forEach(word -> boundsList.add(null));
 
         boolean doFinish = false;
 
-        Text firstNode = createTextNode(configuration.words.get(0));
-        double firstWidth = firstNode.getLayoutBounds().getWidth();
-        double firstHeight = firstNode.getLayoutBounds().getHeight();
+        Bounds firstMeasure = measure(configuration.words.get(0));
+        double firstWidth = firstMeasure.getWidth();
+        double firstHeight = firstMeasure.getHeight();
 
-        if (null == boundsList.get(0)) {
-            boundsList.set(0, new BoundingBox(-firstWidth / 2d,
-                    -firstHeight / 2d, firstWidth, firstHeight));
+        // index of everything a candidate position must not intersect with
+        BoundsIndex occupied = new BoundsIndex(
+                new BoundingBox(
+                        -configuration.layoutBounds.getWidth() / 2d,
+                        -configuration.layoutBounds.getHeight() / 2d,
+                        configuration.layoutBounds.getWidth(),
+                        configuration.layoutBounds.getHeight()),
+                firstHeight);
+        Arrays.stream(configuration.blockedAreaBounds).forEach(occupied::add);
+
+        if (null != initialLayoutSolution) {
+            // keep words of the previous layout at their center as long as they still fit in their new size
+            int kept = 0;
+            for (int i = 0; i < configuration.words.size(); ++i) {
+                Word word = configuration.words.get(i);
+                Bounds previous = initialLayoutSolution.getWordLayoutInfo().get(word);
+                if (null == previous) {
+                    continue;
+                }
+                Bounds measure = 0 == i ? firstMeasure : measure(word);
+                double width = measure.getWidth();
+                double height = measure.getHeight();
+                double minX = previous.getMinX() + (previous.getWidth() - width) / 2d;
+                double minY = previous.getMinY() + (previous.getHeight() - height) / 2d;
+                if (isOnScreen(minX, minY, width, height) && !occupied.intersectsAny(minX, minY, width, height)) {
+                    Bounds bounds = new BoundingBox(minX, minY, width, height);
+                    boundsList.set(i, bounds);
+                    occupied.add(bounds);
+                    kept++;
+                }
+            }
+            LOG.debug("Kept {} of {} words at their previous position", kept, configuration.words.size());
         }
 
-        for (int i = 1; i < configuration.words.size(); ++i) {
+        if (null == boundsList.get(0)
+                && !occupied.intersectsAny(-firstWidth / 2d, -firstHeight / 2d, firstWidth, firstHeight)) {
+            Bounds bounds = new BoundingBox(-firstWidth / 2d,
+                    -firstHeight / 2d, firstWidth, firstHeight);
+            boundsList.set(0, bounds);
+            occupied.add(bounds);
+        }
+
+        for (int i = 0; i < configuration.words.size(); ++i) {
             if (null != boundsList.get(i)) {
                 continue;
             }
             Word word = configuration.words.get(i);
-            Text textNode = createTextNode(word);
-            double width = textNode.getLayoutBounds().getWidth();
-            double height = textNode.getLayoutBounds().getHeight();
+            Bounds measure = 0 == i ? firstMeasure : measure(word);
+            double width = measure.getWidth();
+            double height = measure.getHeight();
 
             Point2D center = new Point2D(0, 0);
             double totalWeight = 0.0;
             for (int prev = 0; prev < i; ++prev) {
                 Bounds prevBounds = boundsList.get(prev);
+                if (null == prevBounds) {
+                    // word could not be placed
+                    continue;
+                }
                 double weight = configuration.words.get(prev).getWeight();
                 if (0 == i % 2) {
                     center = center.add((prevBounds.getWidth() / 2d) * weight, (prevBounds.getHeight() / 2d) * weight);
@@ -128,9 +172,11 @@ public final class WordleLayout {
                 }
                 totalWeight += weight;
             }
-            center = center.multiply(1d / totalWeight);
+            if (totalWeight > 0) {
+                center = center.multiply(1d / totalWeight);
+            }
             boolean done = false;
-            double radius = 0.1 * Math.min(boundsList.get(0).getWidth(), boundsList.get(0).getHeight());
+            double radius = 0.1 * Math.min(firstWidth, firstHeight);
             while (!done) {
                 if (radius > Math.max(configuration.layoutBounds.getHeight(), configuration.layoutBounds.getWidth())) {
                     doFinish = true;
@@ -150,26 +196,17 @@ public final class WordleLayout {
                     }
                     prevX = center.getX();
                     prevY = center.getY();
-                    Bounds mayBe = new BoundingBox(center.getX() - width / 2d,
-                            center.getY() - height / 2d, width, height);
-                    boolean useable = true;
-                    //check if bounds are full on screen:
-                    if (configuration.layoutBounds.getWidth() > 0 && configuration.layoutBounds.getHeight() > 0 && (mayBe.getMinX() + configuration.layoutBounds.getWidth() / 2d < 0
-                            || mayBe.getMinY() + configuration.layoutBounds.getHeight() / 2d < 0
-                            || mayBe.getMaxX() + configuration.layoutBounds.getWidth() / 2d > configuration.layoutBounds.getMaxX()
-                            || mayBe.getMaxY() + configuration.layoutBounds.getHeight() / 2d > configuration.layoutBounds.getMaxY())) {
-                        useable = false;
-                    }
+                    double minX = center.getX() - width / 2d;
+                    double minY = center.getY() - height / 2d;
+                    boolean useable = isOnScreen(minX, minY, width, height);
                     if (useable) {
-                        useable = Arrays.stream(configuration.blockedAreaBounds).noneMatch(mayBe::intersects);
-                    }
-                    if (useable) {
-                        useable = boundsList.stream().filter(Objects::nonNull).noneMatch(mayBe::intersects);
+                        useable = !occupied.intersectsAny(minX, minY, width, height);
                     }
                     if (useable) {
                         done = true;
-                        boundsList.set(i, new BoundingBox(center.getX() - width / 2d,
-                                center.getY() - height / 2d, width, height));
+                        Bounds bounds = new BoundingBox(minX, minY, width, height);
+                        boundsList.set(i, bounds);
+                        occupied.add(bounds);
                         break;
                     }
                     if (doFinish) {
@@ -184,11 +221,22 @@ public final class WordleLayout {
         Map<Word, Bounds> boundsMap = new HashMap<>();
 
         for (int k = 0; k < configuration.words.size(); k++) {
-            boundsMap.put(configuration.words.get(k), boundsList.get(k));
+            if (null != boundsList.get(k)) {
+                boundsMap.put(configuration.words.get(k), boundsList.get(k));
+            }
         }
         return boundsMap;
     }
 
+    private boolean isOnScreen(double minX, double minY, double width, double height) {
+        //check if bounds are full on screen:
+        return configuration.layoutBounds.getWidth() <= 0 || configuration.layoutBounds.getHeight() <= 0
+                || !(minX + configuration.layoutBounds.getWidth() / 2d < 0
+                || minY + configuration.layoutBounds.getHeight() / 2d < 0
+                || minX + width + configuration.layoutBounds.getWidth() / 2d > configuration.layoutBounds.getMaxX()
+                || minY + height + configuration.layoutBounds.getHeight() / 2d > configuration.layoutBounds.getMaxY());
+    }
+
     public static class Configuration {
 
         private final List<Word> words;
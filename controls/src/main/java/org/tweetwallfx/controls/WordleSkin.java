@@ -53,6 +53,7 @@ public class WordleSkin extends SkinBase<Wordle> {
     private Pane mediaBox;
 
     private int displayCloudTags = 25;
+    private volatile WordleLayout cloudLayout;
 
     private ImageView logo;
     private ImageView secondLogo;
@@ -80,6 +81,21 @@ public class WordleSkin extends SkinBase<Wordle> {
         return displayCloudTags;
     }
 
+    /**
+     * Returns the layout of the currently displayed word cloud, which serves
+     * as initial solution for the layout of the next update of the cloud.
+     *
+     * @return the layout of the displayed word cloud or {@code null} if none
+     * is displayed
+     */
+    public WordleLayout getCloudLayout() {
+        return cloudLayout;
+    }
+
+    public void setCloudLayout(WordleLayout cloudLayout) {
+        this.cloudLayout = cloudLayout;
+    }
+
     public Pane getMediaBox() {
         return mediaBox;
     }
@@ -0,0 +1,224 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 TweetWallFX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.tweetwallfx.controls.dataprovider;
+
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+
+/**
+ * Memory bounded counter of the most frequent words using the Space-Saving
+ * algorithm.
+ *
+ * <p>
+ * At most {@code capacity} words are tracked. When a word not yet tracked
+ * arrives while all counters are in use the counter with the smallest count is
+ * taken over by the new word, which inherits its count. Counts are therefore
+ * upper bounds of the true counts, with an error of at most the smallest count.
+ *
+ * <p>
+ * The counters are kept in an indexed min-heap for finding the counter to take
+ * over in {@code O(log capacity)}, while the {@code topSize} largest counters
+ * are kept sorted in a separate array so that {@link #top()} is
+ * {@code O(topSize)}.
+ *
+ * <p>
+ * All methods are thread safe.
+ */
+final class HeavyHitters {
+
+    private final int topSize;
+    private final Map<String, Counter> counters;
+    private final Counter[] heap;
+    private final Counter[] top;
+    private int heapSize;
+    private int topCount;
+
+    HeavyHitters(final int capacity, final int topSize) {
+        if (topSize <= 0) {
+            throw new IllegalArgumentException("topSize must be positive: " + topSize);
+        }
+        if (capacity < topSize) {
+            throw new IllegalArgumentException("capacity must not be less than topSize (" + topSize + "): " + capacity);
+        }
+
+        this.topSize = topSize;
+        this.counters = new HashMap<>(capacity * 4 / 3 + 1);
+        this.heap = new Counter[capacity];
+        this.top = new Counter[topSize];
+    }
+
+    /**
+     * Adds {@code weight} to the count of {@code word}.
+     *
+     * @param word the word to count
+     *
+     * @param weight the positive weight to add
+     */
+    synchronized void add(final String word, final double weight) {
+        if (!(weight > 0)) {
+            throw new IllegalArgumentException("weight must be positive: " + weight);
+        }
+
+        Counter counter = counters.get(word);
+
+        if (null != counter) {
+            counter.count += weight;
+            siftDown(counter.heapIndex);
+        } else if (heapSize < heap.length) {
+            counter = new Counter(word, weight);
+            counters.put(word, counter);
+            counter.heapIndex = heapSize;
+            heap[heapSize++] = counter;
+            siftUp(counter.heapIndex);
+        } else {
+            counter = heap[0];
+            counters.remove(counter.word);
+            counter.word = word;
+            counters.put(word, counter);
+            counter.count += weight;
+            siftDown(0);
+        }
+
+        updateTop(counter);
+    }
+
+    /**
+     * Multiplies all counts by {@code factor}. As the order of the counts is
+     * retained this is used to rebase weights that grow over time.
+     *
+     * @param factor the positive factor to multiply the counts by
+     */
+    synchronized void scale(final double factor) {
+        if (!(factor > 0)) {
+            throw new IllegalArgumentException("factor must be positive: " + factor);
+        }
+
+        for (int i = 0; i < heapSize; i++) {
+            heap[i].count *= factor;
+        }
+    }
+
+    /**
+     * Returns the largest counts in descending order.
+     *
+     * @return the (at most {@code topSize}) largest counts
+     */
+    synchronized List<Map.Entry<String, Double>> top() {
+        final List<Map.Entry<String, Double>> result = new ArrayList<>(topCount);
+
+        for (int i = 0; i < topCount; i++) {
+            result.add(Map.entry(top[i].word, top[i].count));
+        }
+
+        return result;
+    }
+
+    /**
+     * Returns the number of currently tracked words.
+     *
+     * @return the number of tracked words
+     */
+    synchronized int size() {
+        return heapSize;
+    }
+
+    private void updateTop(final Counter counter) {
+        if (counter.topIndex < 0) {
+            if (topCount < topSize) {
+                counter.topIndex = topCount;
+                top[topCount++] = counter;
+            } else if (counter.count > top[topCount - 1].count) {
+                top[topCount - 1].topIndex = -1;
+                counter.topIndex = topCount - 1;
+                top[topCount - 1] = counter;
+            } else {
+                return;
+            }
+        }
+
+        int i = counter.topIndex;
+        while (i > 0 && top[i - 1].count < counter.count) {
+            top[i] = top[i - 1];
+            top[i].topIndex = i;
+            i--;
+        }
+        top[i] = counter;
+        counter.topIndex = i;
+    }
+
+    private void siftUp(int index) {
+        final Counter counter = heap[index];
+
+        while (index > 0) {
+            final int parent = (index - 1) >>> 1;
+            if (heap[parent].count <= counter.count) {
+                break;
+            }
+            heap[index] = heap[parent];
+            heap[index].heapIndex = index;
+            index = parent;
+        }
+
+        heap[index] = counter;
+        counter.heapIndex = index;
+    }
+
+    private void siftDown(int index) {
+        final Counter counter = heap[index];
+
+        while (true) {
+            int child = 2 * index + 1;
+            if (child >= heapSize) {
+                break;
+            }
+            if (child + 1 < heapSize && heap[child + 1].count < heap[child].count) {
+                child++;
+            }
+            if (counter.count <= heap[child].count) {
+                break;
+            }
+            heap[index] = heap[child];
+            heap[index].heapIndex = index;
+            index = child;
+        }
+
+        heap[index] = counter;
+        counter.heapIndex = index;
+    }
+
+    private static final class Counter {
+
+        private String word;
+        private double count;
+        private int heapIndex;
+        private int topIndex = -1;
+
+        private Counter(final String word, final double count) {
+            this.word = word;
+            this.count = count;
+        }
+    }
+}
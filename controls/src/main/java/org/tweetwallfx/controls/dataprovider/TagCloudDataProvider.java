@@ -23,29 +23,35 @@
  */
 package org.tweetwallfx.controls.dataprovider;
 
-import java.util.Comparator;
+import java.util.Date;
 import java.util.List;
 import java.util.Map;
-import java.util.TreeMap;
+import java.util.concurrent.TimeUnit;
 import org.tweetwallfx.controls.Word;
 import org.tweetwallfx.stepengine.api.DataProvider;
 import org.tweetwallfx.stepengine.api.config.StepEngineSettings;
-import org.tweetwallfx.tweet.StopList;
 import org.tweetwallfx.tweet.api.Tweet;
-import org.tweetwallfx.tweet.api.entry.MediaTweetEntry;
-import org.tweetwallfx.tweet.api.entry.UrlTweetEntry;
-import org.tweetwallfx.tweet.api.entry.UserMentionTweetEntry;
+import static org.tweetwallfx.util.Nullable.valueOrDefault;
 
 public class TagCloudDataProvider implements DataProvider.HistoryAware, DataProvider.NewTweetAware {
 
     private static final int NUM_MAX_WORDS = 40;
-    private static final Comparator<Map.Entry<String, Long>> COMPARATOR = Map.Entry.comparingByValue();
+    /**
+     * Number of half-lives after which the weights are rebased onto a new
+     * landmark before they grow too large.
+     */
+    private static final double MAX_HALF_LIVES = 64;
 
     private List<Word> additionalTweetWords = null;
-    private final Map<String, Long> tree = new TreeMap<>();
+    private final HeavyHitters wordCounts;
+    private final long halfLifeMillis;
+    // landmark and latest are guarded by wordCounts
+    private long landmark = Long.MIN_VALUE;
+    private long latest = Long.MIN_VALUE;
 
-    private TagCloudDataProvider() {
-        // prevent external instantiation
+    TagCloudDataProvider(final Config config) {
+        this.wordCounts = new HeavyHitters(config.maxTrackedWords(), NUM_MAX_WORDS);
+        this.halfLifeMillis = TimeUnit.MINUTES.toMillis(config.decayHalfLifeMinutes());
     }
 
     @Override
@@ -67,34 +73,75 @@ public class TagCloudDataProvider implements DataProvider.HistoryAware, DataProv
     }
 
     public List<Word> getWords() {
-        return tree.entrySet().stream()
-                .sorted(COMPARATOR.reversed())
-                .limit(NUM_MAX_WORDS)
-                .map(entry -> new Word(entry.getKey(), entry.getValue()))
+        final List<Map.Entry<String, Double>> top;
+        final double factor;
+
+        synchronized (wordCounts) {
+            top = wordCounts.top();
+            // report the decayed weights as of the latest tweet
+            factor = halfLifeMillis > 0 && Long.MIN_VALUE != latest
+                    ? Math.pow(2, -(double) (latest - landmark) / halfLifeMillis)
+                    : 1;
+        }
+
+        return top.stream()
+                .map(entry -> new Word(entry.getKey(), entry.getValue() * factor))
                 .toList();
     }
 
+    /**
+     * Determines the weight of the words of a tweet created at
+     * {@code createdAt}. Without decay every tweet weighs {@code 1}. With decay
+     * the weight doubles every half-life relative to the landmark (forward
+     * decay), so that counts of older tweets decay relative to newer ones
+     * without having to touch every counter on each update.
+     *
+     * <p>
+     * Must be called while holding the lock of {@code wordCounts}.
+     */
+    private double weightOf(final Date createdAt) {
+        if (halfLifeMillis <= 0) {
+            return 1;
+        }
+
+        final long time = null == createdAt
+                ? System.currentTimeMillis()
+                : createdAt.getTime();
+
+        if (Long.MIN_VALUE == landmark) {
+            landmark = time;
+        }
+        latest = Math.max(latest, time);
+
+        double halfLives = (double) (time - landmark) / halfLifeMillis;
+
+        if (halfLives > MAX_HALF_LIVES) {
+            wordCounts.scale(Math.pow(2, -halfLives));
+            landmark = time;
+            halfLives = 0;
+        }
+
+        return Math.pow(2, halfLives);
+    }
+
     private void updateTree(final Tweet tweet) {
-        StopList.WORD_SPLIT.splitAsStream(tweet.getTextWithout(UrlTweetEntry.class)
-                .getTextWithout(MediaTweetEntry.class)
-                .getTextWithout(UserMentionTweetEntry.class)
-                .get()
-                .replaceAll("[.,!?:´`']((\\s+)|($))", " ")
-                .replaceAll("['“”‘’\"()]", " "))
-                .filter(l -> l.length() > 2)
-                .filter(StopList.IS_NOT_URL) // no url or part thereof
-                .map(String::toLowerCase)
-                .map(StopList::removeEmojis)
-                .distinct()
-                .filter(StopList::notIn)
-                .forEach(w -> tree.merge(w, 1L, (oldValue, newValue) -> oldValue + newValue));
+        final List<String> words = TagCloudTokenizer.tokenize(tweet);
+
+        synchronized (wordCounts) {
+            final double weight = weightOf(tweet.getCreatedAt());
+
+            // weights of tweets far older than the landmark vanish
+            if (weight > 0) {
+                words.forEach(w -> wordCounts.add(w, weight));
+            }
+        }
     }
 
     public static class FactoryImpl implements DataProvider.Factory {
 
         @Override
         public TagCloudDataProvider create(final StepEngineSettings.DataProviderSetting dataProviderSetting) {
-            return new TagCloudDataProvider();
+            return new TagCloudDataProvider(dataProviderSetting.getConfig(Config.class));
         }
 
         @Override
@@ -102,4 +149,40 @@ public class TagCloudDataProvider implements DataProvider.HistoryAware, DataProv
             return TagCloudDataProvider.class;
         }
     }
+
+    /**
+     * POJO used to configure {@link TagCloudDataProvider}.
+     *
+     * <p>
+     * Param {@code maxTrackedWords} The maximum number of distinct words whose
+     * counts are tracked. Once exceeded the least frequent word is replaced by
+     * the next new word. Defaults to {@code 5000}.
+     *
+     * <p>
+     * Param {@code decayHalfLifeMinutes} The number of minutes after which the
+     * weight of a word from a tweet is halved relative to words of newer
+     * tweets (based on the creation time of the tweets), so that the cloud
+     * follows recent topics. {@code 0} disables decay and counts all tweets
+     * equally. Defaults to {@code 0}.
+     */
+    static record Config(
+            Integer maxTrackedWords,
+            Long decayHalfLifeMinutes) {
+
+        @SuppressWarnings("unused")
+        public Config(
+                final Integer maxTrackedWords,
+                final Long decayHalfLifeMinutes) {
+            this.maxTrackedWords = valueOrDefault(maxTrackedWords, 5_000);
+
+            if (this.maxTrackedWords < NUM_MAX_WORDS) {
+                throw new IllegalArgumentException("property 'maxTrackedWords' must not be less than " + NUM_MAX_WORDS);
+            }
+            this.decayHalfLifeMinutes = valueOrDefault(decayHalfLifeMinutes, 0L);
+
+            if (this.decayHalfLifeMinutes < 0) {
+                throw new IllegalArgumentException("property 'decayHalfLifeMinutes' must not be a negative number");
+            }
+        }
+    }
 }
@@ -0,0 +1,156 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 TweetWallFX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.tweetwallfx.controls.dataprovider;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.LinkedHashSet;
+import java.util.List;
+import java.util.Set;
+import org.tweetwallfx.tweet.StopList;
+import org.tweetwallfx.tweet.api.Tweet;
+import org.tweetwallfx.tweet.api.entry.TweetEntry;
+
+/**
+ * Splits the text of a {@link Tweet} into the words counted for the tag cloud.
+ *
+ * <p>
+ * The text is scanned once by code point. Ranges of URL, media and user
+ * mention entries are skipped, whitespace, quotes, parentheses and emoji
+ * separate words, and trailing punctuation is cut off. Words are lowercased
+ * while being collected, so the only strings created are the resulting words.
+ * Words shorter than three characters, URLs and words of the {@link StopList}
+ * are dropped, as are repetitions of a word within the same tweet.
+ */
+public final class TagCloudTokenizer {
+
+    private static final int MIN_WORD_LENGTH = 3;
+    private static final String SEPARATORS = "'“”‘’\"()";
+    private static final String TRAILING_PUNCTUATION = ".,!?:;´`";
+    private static final Comparator<TweetEntry> ENTRY_COMPARATOR = Comparator.comparingInt(TweetEntry::getStart);
+
+    private TagCloudTokenizer() {
+        // prevent instantiation
+    }
+
+    /**
+     * Returns the distinct words of the given {@code tweet} in the order of
+     * their first occurrence.
+     *
+     * @param tweet the tweet to split into words
+     *
+     * @return the words of the tweet
+     */
+    public static List<String> tokenize(final Tweet tweet) {
+        final String text = tweet.getText();
+        final int[] skipped = skippedRanges(tweet);
+        final Set<String> words = new LinkedHashSet<>();
+        final StringBuilder word = new StringBuilder(32);
+        int range = 0;
+        int i = 0;
+
+        while (i < text.length()) {
+            while (range < skipped.length && skipped[range + 1] <= i) {
+                range += 2;
+            }
+
+            if (range < skipped.length && skipped[range] <= i) {
+                addWord(word, words);
+                i = skipped[range + 1];
+                continue;
+            }
+
+            final int codePoint = text.codePointAt(i);
+            i += Character.charCount(codePoint);
+
+            if (isSeparator(codePoint)) {
+                addWord(word, words);
+            } else {
+                word.appendCodePoint(Character.toLowerCase(codePoint));
+            }
+        }
+
+        addWord(word, words);
+        return List.copyOf(words);
+    }
+
+    /**
+     * Returns the character ranges of the entities to skip as sorted pairs of
+     * start (inclusive) and end (exclusive) index.
+     */
+    private static int[] skippedRanges(final Tweet tweet) {
+        final List<TweetEntry> entries = new ArrayList<>();
+        entries.addAll(List.of(tweet.getUrlEntries()));
+        entries.addAll(List.of(tweet.getMediaEntries()));
+        entries.addAll(List.of(tweet.getUserMentionEntries()));
+        entries.sort(ENTRY_COMPARATOR);
+
+        final int[] ranges = new int[entries.size() * 2];
+        for (int i = 0; i < entries.size(); i++) {
+            final TweetEntry entry = entries.get(i);
+            ranges[2 * i] = entry.getStart();
+            // entries without extent cover the single character at their start
+            ranges[2 * i + 1] = Math.max(entry.getEnd(), entry.getStart() + 1);
+        }
+
+        return ranges;
+    }
+
+    private static boolean isSeparator(final int codePoint) {
+        return Character.isWhitespace(codePoint)
+                || Character.isSpaceChar(codePoint)
+                || SEPARATORS.indexOf(codePoint) >= 0
+                || isEmoji(codePoint);
+    }
+
+    private static boolean isEmoji(final int codePoint) {
+        return (codePoint >= 0x1F000 && codePoint < 0x1FC00) // pictographs, emoticons, skin tones, ...
+                || (codePoint >= 0xE0020 && codePoint <= 0xE007F) // tag sequences (flags of subdivisions)
+                || codePoint == 0x200D // zero width joiner
+                || codePoint == 0x20E3 // combining enclosing keycap
+                || codePoint == 0xFE0E || codePoint == 0xFE0F // variation selectors
+                || Character.getType(codePoint) == Character.OTHER_SYMBOL;
+    }
+
+    private static void addWord(final StringBuilder word, final Set<String> words) {
+        int length = word.length();
+
+        while (length > 0 && TRAILING_PUNCTUATION.indexOf(word.charAt(length - 1)) >= 0) {
+            length--;
+        }
+        word.setLength(length);
+
+        if (length >= MIN_WORD_LENGTH
+                && word.indexOf("http:") < 0
+                && word.indexOf("https:") < 0) {
+            final String candidate = word.toString();
+
+            if (StopList.notInLowerCase(candidate)) {
+                words.add(candidate);
+            }
+        }
+
+        word.setLength(0);
+    }
+}
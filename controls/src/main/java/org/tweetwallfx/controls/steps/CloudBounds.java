@@ -0,0 +1,88 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 TweetWallFX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.tweetwallfx.controls.steps;
+
+import java.util.concurrent.CompletableFuture;
+import javafx.application.Platform;
+import javafx.geometry.Bounds;
+import org.tweetwallfx.controls.WordleLayout;
+import org.tweetwallfx.controls.WordleSkin;
+
+/**
+ * Snapshot of the bounds of the nodes of a {@link WordleSkin} that determine
+ * the layout of its word cloud. The bounds are read on the FX application
+ * thread, so steps computing the layout on the step engine thread do not race
+ * with the layout of the scene graph.
+ */
+record CloudBounds(
+        Bounds layoutBounds,
+        Bounds logoBounds,
+        Bounds secondLogoBounds) {
+
+    /**
+     * Reads the bounds of the nodes of {@code wordleSkin} on the FX
+     * application thread, waiting for them in case of being called on another
+     * thread.
+     *
+     * @param wordleSkin the skin whose bounds to read
+     *
+     * @return the bounds of the nodes of the skin
+     */
+    static CloudBounds of(final WordleSkin wordleSkin) {
+        if (Platform.isFxApplicationThread()) {
+            return read(wordleSkin);
+        }
+
+        final CompletableFuture<CloudBounds> bounds = new CompletableFuture<>();
+        Platform.runLater(() -> {
+            try {
+                bounds.complete(read(wordleSkin));
+            } catch (final RuntimeException re) {
+                bounds.completeExceptionally(re);
+            }
+        });
+        return bounds.join();
+    }
+
+    private static CloudBounds read(final WordleSkin wordleSkin) {
+        return new CloudBounds(
+                wordleSkin.getPane().getLayoutBounds(),
+                null == wordleSkin.getLogo() ? null : wordleSkin.getLogo().getBoundsInParent(),
+                null == wordleSkin.getSecondLogo() ? null : wordleSkin.getSecondLogo().getBoundsInParent());
+    }
+
+    /**
+     * Blocks the areas of the logos in the layout {@code configuration}.
+     *
+     * @param configuration the configuration of the layout
+     */
+    void blockLogoAreas(final WordleLayout.Configuration configuration) {
+        if (null != logoBounds) {
+            configuration.setBlockedAreaBounds(logoBounds);
+        }
+        if (null != secondLogoBounds) {
+            configuration.setBlockedAreaBounds(secondLogoBounds);
+        }
+    }
+}
@@ -64,6 +64,7 @@ public class CloudFadeOutStep implements Step {
             fadeOutTransitions.add(ft);
         });
         wordleSkin.word2TextMap.clear();
+        wordleSkin.setCloudLayout(null);
 
         wordleSkin.getNode().lookupAll("#blurredCopy").stream().forEach( node -> {
             FadeTransition ft = new FadeTransition(defaultDuration, node);
@@ -32,6 +32,7 @@ import javafx.animation.FadeTransition;
 import javafx.animation.ParallelTransition;
 import javafx.animation.SequentialTransition;
 import javafx.animation.Transition;
+import javafx.application.Platform;
 import javafx.geometry.Bounds;
 import javafx.scene.text.Text;
 import javafx.util.Duration;
@@ -65,21 +66,24 @@ public class CloudToCloudStep implements Step {
         }
 
         WordleSkin wordleSkin = (WordleSkin) context.get("WordleSkin");
-        Bounds layoutBounds = wordleSkin.getPane().getLayoutBounds();
+        // bounds of the scene graph are only read on the FX application thread
+        CloudBounds cloudBounds = CloudBounds.of(wordleSkin);
+        Bounds layoutBounds = cloudBounds.layoutBounds();
         List<Word> limitedWords = sortedWords.stream()
                 .limit(wordleSkin.getDisplayCloudTags())
                 .sorted(Comparator.reverseOrder())
                 .toList();
 
         WordleLayout.Configuration configuration = new WordleLayout.Configuration(limitedWords, wordleSkin.getFont(), wordleSkin.getFontSizeMax(), layoutBounds);
-        if (null != wordleSkin.getLogo()) {
-            configuration.setBlockedAreaBounds(wordleSkin.getLogo().getBoundsInParent());
-        }
-        if (null != wordleSkin.getSecondLogo()) {
-            configuration.setBlockedAreaBounds(wordleSkin.getSecondLogo().getBoundsInParent());
-        }
+        cloudBounds.blockLogoAreas(configuration);
+
+        // words of the displayed cloud stay in place as long as they still fit
+        WordleLayout cloudWordleLayout = WordleLayout.createWordleLayout(configuration, wordleSkin.getCloudLayout());
+        wordleSkin.setCloudLayout(cloudWordleLayout);
+        Platform.runLater(() -> morph(context, wordleSkin, layoutBounds, cloudWordleLayout));
+    }
 
-        WordleLayout cloudWordleLayout = WordleLayout.createWordleLayout(configuration);
+    private void morph(final MachineContext context, final WordleSkin wordleSkin, final Bounds layoutBounds, final WordleLayout cloudWordleLayout) {
         List<Word> unusedWords = wordleSkin.word2TextMap.keySet().stream()
                 .filter(word -> !cloudWordleLayout.getWordLayoutInfo().containsKey(word))
                 .toList();
@@ -153,6 +157,12 @@ public class CloudToCloudStep implements Step {
         morph.play();
     }
 
+    @Override
+    public boolean requiresPlatformThread() {
+        // layout is computed on the engine thread, only the transitions are run on the FX application thread
+        return false;
+    }
+
     /**
      * Implementation of {@link Step.Factory} as Service implementation creating
      * {@link CloudToCloudStep}.
@@ -153,6 +153,7 @@ public class CloudToTweetStep implements Step {
             fadeOutTransitions.add(ft);
         });
         wordleSkin.word2TextMap.clear();
+        wordleSkin.setCloudLayout(null);
 
         // layout image and meta data first
         Pane infoBox = createInfoBox(wordleSkin, context, displayTweet, lowerLeft);
@@ -91,6 +91,7 @@ public class FadeInCloudStep implements Step {
             configuration.setBlockedAreaBounds(wordleSkin.getSecondLogo().getBoundsInParent());
         }
         WordleLayout cloudWordleLayout = WordleLayout.createWordleLayout(configuration);
+        wordleSkin.setCloudLayout(cloudWordleLayout);
         Duration defaultDuration = Duration.seconds(1.5);
 
         List<Transition> fadeOutTransitions = new ArrayList<>();
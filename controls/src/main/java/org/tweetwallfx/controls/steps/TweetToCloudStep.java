@@ -90,6 +90,7 @@ public class TweetToCloudStep implements Step {
         }
 
         WordleLayout cloudWordleLayout = WordleLayout.createWordleLayout(configuration);
+        wordleSkin.setCloudLayout(cloudWordleLayout);
         Duration defaultDuration = Duration.seconds(1.5);
 
         List<Transition> fadeOutTransitions = new ArrayList<>();
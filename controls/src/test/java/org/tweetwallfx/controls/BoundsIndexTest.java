@@ -0,0 +1,85 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 TweetWallFX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.tweetwallfx.controls;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Random;
+import javafx.geometry.BoundingBox;
+import javafx.geometry.Bounds;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class BoundsIndexTest {
+
+    @Test
+    void emptyIndexIntersectsNothing() {
+        final BoundsIndex index = new BoundsIndex(new BoundingBox(-50, -50, 100, 100), 10);
+        assertThat(index.intersectsAny(-5, -5, 10, 10)).isFalse();
+    }
+
+    @Test
+    void boundsBeyondAreaAreFound() {
+        final BoundsIndex index = new BoundsIndex(new BoundingBox(0, 0, 100, 100), 10);
+        index.add(new BoundingBox(150, 150, 10, 10));
+        assertThat(index.intersectsAny(155, 155, 2, 2)).isTrue();
+        assertThat(index.intersectsAny(90, 90, 5, 5)).isFalse();
+    }
+
+    @Test
+    void emptyAreaFallsBackToLinearScan() {
+        final BoundsIndex index = new BoundsIndex(new BoundingBox(0, 0, 0, 0), 10);
+        index.add(new BoundingBox(10, 10, 10, 10));
+        assertThat(index.intersectsAny(15, 15, 10, 10)).isTrue();
+        assertThat(index.intersectsAny(30, 30, 10, 10)).isFalse();
+    }
+
+    @Test
+    void answersMatchLinearScan() {
+        final Random random = new Random(4711L);
+        final BoundsIndex index = new BoundsIndex(new BoundingBox(-500, -300, 1000, 600), 37);
+        final List<Bounds> added = new ArrayList<>();
+
+        for (int i = 0; i < 200; i++) {
+            final Bounds bounds = new BoundingBox(
+                    random.nextDouble() * 1200 - 600,
+                    random.nextDouble() * 800 - 400,
+                    random.nextDouble() * 120,
+                    random.nextDouble() * 50);
+            index.add(bounds);
+            added.add(bounds);
+        }
+
+        for (int i = 0; i < 5_000; i++) {
+            final double x = random.nextDouble() * 1200 - 600;
+            final double y = random.nextDouble() * 800 - 400;
+            final double width = random.nextDouble() * 80;
+            final double height = random.nextDouble() * 40;
+
+            assertThat(index.intersectsAny(x, y, width, height))
+                    .isEqualTo(added.stream().anyMatch(b -> b.intersects(x, y, width, height)));
+        }
+    }
+}
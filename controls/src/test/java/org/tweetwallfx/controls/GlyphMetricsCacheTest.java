@@ -0,0 +1,93 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 TweetWallFX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.tweetwallfx.controls;
+
+import java.util.concurrent.atomic.AtomicInteger;
+import javafx.geometry.BoundingBox;
+import javafx.geometry.Bounds;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class GlyphMetricsCacheTest {
+
+    private static GlyphMetricsCache.Key key(final String text, final double size) {
+        return new GlyphMetricsCache.Key("System", "Regular", size, text);
+    }
+
+    @Test
+    void repeatedMeasurementIsCached() {
+        final GlyphMetricsCache cache = new GlyphMetricsCache(10);
+        final AtomicInteger measurements = new AtomicInteger();
+        final Bounds bounds = new BoundingBox(0, -10, 40, 12);
+
+        assertThat(cache.get(key("java", 12), () -> {
+            measurements.incrementAndGet();
+            return bounds;
+        })).isSameAs(bounds);
+        assertThat(cache.get(key("java", 12), () -> {
+            measurements.incrementAndGet();
+            return bounds;
+        })).isSameAs(bounds);
+
+        assertThat(measurements).hasValue(1);
+        assertThat(cache.getHitCount()).isEqualTo(1);
+        assertThat(cache.getMissCount()).isEqualTo(1);
+    }
+
+    @Test
+    void sizeAndStyleArePartOfTheKey() {
+        final GlyphMetricsCache cache = new GlyphMetricsCache(10);
+
+        cache.get(key("java", 12), () -> new BoundingBox(0, 0, 1, 1));
+        cache.get(key("java", 14), () -> new BoundingBox(0, 0, 2, 2));
+        cache.get(new GlyphMetricsCache.Key("System", "Bold", 12, "java"), () -> new BoundingBox(0, 0, 3, 3));
+
+        assertThat(cache.size()).isEqualTo(3);
+        assertThat(cache.getMissCount()).isEqualTo(3);
+    }
+
+    @Test
+    void leastRecentlyUsedEntryIsEvicted() {
+        final GlyphMetricsCache cache = new GlyphMetricsCache(2);
+
+        cache.get(key("a", 12), () -> new BoundingBox(0, 0, 1, 1));
+        cache.get(key("b", 12), () -> new BoundingBox(0, 0, 2, 2));
+        cache.get(key("a", 12), () -> new BoundingBox(0, 0, 1, 1));
+        cache.get(key("c", 12), () -> new BoundingBox(0, 0, 3, 3));
+
+        assertThat(cache.size()).isEqualTo(2);
+        cache.get(key("a", 12), () -> new BoundingBox(0, 0, 1, 1));
+        assertThat(cache.getHitCount()).isEqualTo(2);
+        cache.get(key("b", 12), () -> new BoundingBox(0, 0, 2, 2));
+        assertThat(cache.getMissCount()).isEqualTo(4);
+    }
+
+    @Test
+    void invalidCapacityIsRejected() {
+        assertThatThrownBy(() -> new GlyphMetricsCache(0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
@@ -0,0 +1,69 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 TweetWallFX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.tweetwallfx.controls;
+
+import java.util.List;
+import java.util.Map;
+import javafx.geometry.BoundingBox;
+import javafx.geometry.Bounds;
+import javafx.scene.text.Font;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+class WordleLayoutTest {
+
+    private static final Bounds LAYOUT_BOUNDS = new BoundingBox(0, 0, 1920, 1080);
+
+    private static WordleLayout.Configuration configuration(final List<Word> words) {
+        return new WordleLayout.Configuration(words, Font.font(36), 72, LAYOUT_BOUNDS);
+    }
+
+    @Test
+    void wordsOfThePreviousLayoutKeepTheirBounds() {
+        final List<Word> words = List.of(new Word("java", 10), new Word("javafx", 5), new Word("loom", 1));
+        final WordleLayout previous = WordleLayout.createWordleLayout(configuration(words));
+
+        final WordleLayout layout = WordleLayout.createWordleLayout(configuration(words), previous);
+
+        assertThat(layout.getWordLayoutInfo()).containsExactlyInAnyOrderEntriesOf(previous.getWordLayoutInfo());
+    }
+
+    @Test
+    void newWordDoesNotMoveWordsOfThePreviousLayout() {
+        final List<Word> words = List.of(new Word("java", 10), new Word("javafx", 5), new Word("loom", 1));
+        final WordleLayout previous = WordleLayout.createWordleLayout(configuration(words));
+
+        final WordleLayout layout = WordleLayout.createWordleLayout(
+                configuration(List.of(new Word("java", 10), new Word("records", 7), new Word("javafx", 5), new Word("loom", 1))),
+                previous);
+
+        final Map<Word, Bounds> layoutInfo = layout.getWordLayoutInfo();
+        previous.getWordLayoutInfo().forEach((word, bounds) -> assertThat(layoutInfo).containsEntry(word, bounds));
+
+        final Bounds added = layoutInfo.get(new Word("records", 7));
+        assertThat(added).isNotNull();
+        previous.getWordLayoutInfo().values().forEach(bounds -> assertThat(added.intersects(bounds)).isFalse());
+    }
+}
@@ -0,0 +1,143 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 TweetWallFX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.tweetwallfx.controls.dataprovider;
+
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Random;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.TimeUnit;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+
+class HeavyHittersTest {
+
+    @Test
+    void countsAreExactBelowCapacity() {
+        final HeavyHitters heavyHitters = new HeavyHitters(100, 3);
+        final Random random = new Random(42L);
+        final Map<String, Double> expected = new HashMap<>();
+
+        for (int i = 0; i < 1_000; i++) {
+            final String word = "w" + random.nextInt(50);
+            heavyHitters.add(word, 1);
+            expected.merge(word, 1d, Double::sum);
+        }
+
+        final List<Map.Entry<String, Double>> top = heavyHitters.top();
+        final List<Double> expectedTop = expected.values().stream()
+                .sorted((a, b) -> Double.compare(b, a))
+                .limit(3)
+                .toList();
+
+        assertThat(top).hasSize(3);
+        assertThat(top).extracting(Map.Entry::getValue).containsExactlyElementsOf(expectedTop);
+        top.forEach(entry -> assertThat(entry.getValue()).isEqualTo(expected.get(entry.getKey())));
+    }
+
+    @Test
+    void topIsSortedDescending() {
+        final HeavyHitters heavyHitters = new HeavyHitters(10, 5);
+
+        heavyHitters.add("a", 1);
+        heavyHitters.add("b", 3);
+        heavyHitters.add("c", 2);
+        heavyHitters.add("a", 3);
+
+        assertThat(heavyHitters.top()).containsExactly(
+                Map.entry("a", 4d),
+                Map.entry("b", 3d),
+                Map.entry("c", 2d));
+    }
+
+    @Test
+    void scalingRetainsOrder() {
+        final HeavyHitters heavyHitters = new HeavyHitters(10, 2);
+
+        heavyHitters.add("a", 8);
+        heavyHitters.add("b", 4);
+        heavyHitters.scale(0.25);
+        heavyHitters.add("c", 1.5);
+
+        assertThat(heavyHitters.top()).containsExactly(
+                Map.entry("a", 2d),
+                Map.entry("c", 1.5d));
+    }
+
+    @Test
+    void memoryIsBoundedAndFrequentWordsSurvive() {
+        final HeavyHitters heavyHitters = new HeavyHitters(50, 2);
+
+        for (int i = 0; i < 10_000; i++) {
+            heavyHitters.add("unique" + i, 1);
+            if (0 == i % 3) {
+                heavyHitters.add("frequent", 1);
+            }
+            if (0 == i % 5) {
+                heavyHitters.add("common", 1);
+            }
+        }
+
+        assertThat(heavyHitters.size()).isEqualTo(50);
+        assertThat(heavyHitters.top())
+                .extracting(Map.Entry::getKey)
+                .containsExactly("frequent", "common");
+    }
+
+    @Test
+    void concurrentUpdatesAreCounted() throws InterruptedException {
+        final HeavyHitters heavyHitters = new HeavyHitters(10, 2);
+        final ExecutorService executor = Executors.newFixedThreadPool(4);
+
+        for (int t = 0; t < 4; t++) {
+            executor.execute(() -> {
+                for (int i = 0; i < 10_000; i++) {
+                    heavyHitters.add(0 == i % 2 ? "even" : "odd", 1);
+                }
+            });
+        }
+        executor.shutdown();
+        assertThat(executor.awaitTermination(1, TimeUnit.MINUTES)).isTrue();
+
+        assertThat(heavyHitters.top()).containsExactlyInAnyOrder(
+                Map.entry("even", 20_000d),
+                Map.entry("odd", 20_000d));
+    }
+
+    @Test
+    void invalidArgumentsAreRejected() {
+        assertThatThrownBy(() -> new HeavyHitters(1, 2))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new HeavyHitters(10, 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new HeavyHitters(10, 2).add("a", 0))
+                .isInstanceOf(IllegalArgumentException.class);
+        assertThatThrownBy(() -> new HeavyHitters(10, 2).scale(0))
+                .isInstanceOf(IllegalArgumentException.class);
+    }
+}
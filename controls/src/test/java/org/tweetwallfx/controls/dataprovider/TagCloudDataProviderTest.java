@@ -0,0 +1,101 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 TweetWallFX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.tweetwallfx.controls.dataprovider;
+
+import java.util.Date;
+import java.util.Map;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
+import org.junit.jupiter.api.Test;
+import org.tweetwallfx.controls.Word;
+import org.tweetwallfx.tweet.api.Tweet;
+import org.tweetwallfx.tweet.api.entry.MediaTweetEntry;
+import org.tweetwallfx.tweet.api.entry.UrlTweetEntry;
+import org.tweetwallfx.tweet.api.entry.UserMentionTweetEntry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.within;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TagCloudDataProviderTest {
+
+    private static final long START = 1_600_000_000_000L;
+
+    private static Tweet tweet(final String text, final long minutesAfterStart) {
+        final Tweet tweet = mock(Tweet.class);
+        when(tweet.getText()).thenReturn(text);
+        when(tweet.getCreatedAt()).thenReturn(new Date(START + TimeUnit.MINUTES.toMillis(minutesAfterStart)));
+        when(tweet.getUrlEntries()).thenReturn(new UrlTweetEntry[0]);
+        when(tweet.getMediaEntries()).thenReturn(new MediaTweetEntry[0]);
+        when(tweet.getUserMentionEntries()).thenReturn(new UserMentionTweetEntry[0]);
+        return tweet;
+    }
+
+    private static Map<String, Double> weights(final TagCloudDataProvider dataProvider) {
+        return dataProvider.getWords().stream()
+                .collect(Collectors.toMap(Word::getText, Word::getWeight));
+    }
+
+    @Test
+    void weightIsHalvedAfterOneHalfLife() {
+        final TagCloudDataProvider dataProvider = new TagCloudDataProvider(new TagCloudDataProvider.Config(null, 10L));
+
+        dataProvider.processHistoryTweet(tweet("java", 0));
+        dataProvider.processNewTweet(tweet("loom", 10));
+
+        final Map<String, Double> weights = weights(dataProvider);
+        assertThat(weights.get("loom")).isCloseTo(1, within(1e-9));
+        assertThat(weights.get("java")).isCloseTo(0.5, within(1e-9));
+    }
+
+    @Test
+    void weightsAreKeptWhenRebasing() {
+        final TagCloudDataProvider dataProvider = new TagCloudDataProvider(new TagCloudDataProvider.Config(null, 1L));
+
+        dataProvider.processHistoryTweet(tweet("java", 0));
+        dataProvider.processNewTweet(tweet("loom", 65));
+
+        Map<String, Double> weights = weights(dataProvider);
+        assertThat(weights.get("loom")).isCloseTo(1, within(1e-9));
+        assertThat(weights.get("java") / weights.get("loom")).isCloseTo(Math.pow(2, -65), within(1e-30));
+
+        dataProvider.processNewTweet(tweet("java", 66));
+
+        weights = weights(dataProvider);
+        assertThat(weights.get("loom")).isCloseTo(0.5, within(1e-9));
+        assertThat(weights.get("java")).isCloseTo(1, within(1e-9));
+    }
+
+    @Test
+    void countsAreNotDecayedWithoutHalfLife() {
+        final TagCloudDataProvider dataProvider = new TagCloudDataProvider(new TagCloudDataProvider.Config(null, 0L));
+
+        dataProvider.processHistoryTweet(tweet("java", 0));
+        dataProvider.processHistoryTweet(tweet("java loom", TimeUnit.DAYS.toMinutes(365)));
+        dataProvider.processNewTweet(tweet("java", TimeUnit.DAYS.toMinutes(730)));
+
+        assertThat(weights(dataProvider)).containsExactlyInAnyOrderEntriesOf(Map.of("java", 3d, "loom", 1d));
+    }
+}
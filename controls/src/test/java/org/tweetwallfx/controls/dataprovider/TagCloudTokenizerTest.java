@@ -0,0 +1,86 @@
+/*
+ * The MIT License (MIT)
+ *
+ * Copyright (c) 2022 TweetWallFX
+ *
+ * Permission is hereby granted, free of charge, to any person obtaining a copy
+ * of this software and associated documentation files (the "Software"), to deal
+ * in the Software without restriction, including without limitation the rights
+ * to use, copy, modify, merge, publish, distribute, sublicense, and/or sell
+ * copies of the Software, and to permit persons to whom the Software is
+ * furnished to do so, subject to the following conditions:
+ *
+ * The above copyright notice and this permission notice shall be included in
+ * all copies or substantial portions of the Software.
+ *
+ * THE SOFTWARE IS PROVIDED "AS IS", WITHOUT WARRANTY OF ANY KIND, EXPRESS OR
+ * IMPLIED, INCLUDING BUT NOT LIMITED TO THE WARRANTIES OF MERCHANTABILITY,
+ * FITNESS FOR A PARTICULAR PURPOSE AND NONINFRINGEMENT. IN NO EVENT SHALL THE
+ * AUTHORS OR COPYRIGHT HOLDERS BE LIABLE FOR ANY CLAIM, DAMAGES OR OTHER
+ * LIABILITY, WHETHER IN AN ACTION OF CONTRACT, TORT OR OTHERWISE, ARISING FROM,
+ * OUT OF OR IN CONNECTION WITH THE SOFTWARE OR THE USE OR OTHER DEALINGS IN
+ * THE SOFTWARE.
+ */
+package org.tweetwallfx.controls.dataprovider;
+
+import org.junit.jupiter.api.Test;
+import org.tweetwallfx.tweet.api.Tweet;
+import org.tweetwallfx.tweet.api.entry.MediaTweetEntry;
+import org.tweetwallfx.tweet.api.entry.UrlTweetEntry;
+import org.tweetwallfx.tweet.api.entry.UserMentionTweetEntry;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+class TagCloudTokenizerTest {
+
+    private static Tweet tweet(final String text) {
+        final Tweet tweet = mock(Tweet.class);
+        when(tweet.getText()).thenReturn(text);
+        when(tweet.getUrlEntries()).thenReturn(new UrlTweetEntry[0]);
+        when(tweet.getMediaEntries()).thenReturn(new MediaTweetEntry[0]);
+        when(tweet.getUserMentionEntries()).thenReturn(new UserMentionTweetEntry[0]);
+        return tweet;
+    }
+
+    @Test
+    void wordsAreLowercasedAndDistinct() {
+        assertThat(TagCloudTokenizer.tokenize(tweet("Java JAVA java JavaFX")))
+                .containsExactly("java", "javafx");
+    }
+
+    @Test
+    void stopWordsAndShortWordsAreDropped() {
+        assertThat(TagCloudTokenizer.tokenize(tweet("RT the talk on GC and Loom")))
+                .containsExactly("talk", "loom");
+    }
+
+    @Test
+    void punctuationQuotesAndEmojiSeparateWords() {
+        assertThat(TagCloudTokenizer.tokenize(tweet("Great demo!!! “Records”, (streams) coffee☕break 👏🏽wow")))
+                .containsExactly("great", "demo", "records", "streams", "coffee", "break", "wow");
+    }
+
+    @Test
+    void urlsAreDropped() {
+        assertThat(TagCloudTokenizer.tokenize(tweet("slides at https://example.org/slides today")))
+                .containsExactly("slides", "today");
+    }
+
+    @Test
+    void entityRangesAreSkipped() {
+        final Tweet tweet = tweet("Thanks @duke for the keynote https://t.co/abc");
+        final UserMentionTweetEntry mention = mock(UserMentionTweetEntry.class);
+        when(mention.getStart()).thenReturn(7);
+        when(mention.getEnd()).thenReturn(12);
+        final UrlTweetEntry url = mock(UrlTweetEntry.class);
+        when(url.getStart()).thenReturn(29);
+        when(url.getEnd()).thenReturn(45);
+        when(tweet.getUserMentionEntries()).thenReturn(new UserMentionTweetEntry[]{mention});
+        when(tweet.getUrlEntries()).thenReturn(new UrlTweetEntry[]{url});
+
+        assertThat(TagCloudTokenizer.tokenize(tweet))
+                .containsExactly("thanks", "keynote");
+    }
+}
@@ -107,7 +107,17 @@ public final class StopList {
      * @return true if contained.
      */
     public static boolean notIn(final String word) {
-        String lowerWord = word.toLowerCase();
+        return notInLowerCase(word.toLowerCase());
+    }
+
+    /**
+     * Check if the already lowercase word is in stop list. In contrast to
+     * {@link #notIn(String)} the word is not lowercased again.
+     *
+     * @param lowerWord lowercase word to be checked.
+     * @return true if not contained.
+     */
+    public static boolean notInLowerCase(final String lowerWord) {
         return !TWITTER_LIST.contains(lowerWord)
                 && !STOP_LIST.contains(lowerWord)
                 && !CUSTOM_LIST.contains(lowerWord);
@@ -34,7 +34,7 @@ public final class EmojiImageCache extends URLContentCacheBase {
     /**
      * Cache instance.
      */
-    public static final EmojiImageCache INSTANCE = new EmojiImageCache();
+    public static final EmojiImageCache INSTANCE = start(new EmojiImageCache());
 
     private EmojiImageCache() {
         super("emojiImage");
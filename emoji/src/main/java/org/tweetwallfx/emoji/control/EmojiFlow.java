@@ -26,7 +26,6 @@ package org.tweetwallfx.emoji.control;
 import java.util.List;
 import javafx.beans.property.ObjectProperty;
 import javafx.beans.property.SimpleObjectProperty;
-import javafx.scene.image.Image;
 import javafx.scene.image.ImageView;
 import javafx.scene.paint.Color;
 import javafx.scene.text.Font;
@@ -35,6 +34,7 @@ import javafx.scene.text.TextAlignment;
 import javafx.scene.text.TextFlow;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.tweetwallfx.cache.fx.ImageCache;
 import org.tweetwallfx.emoji.EmojiImageCache;
 import org.tweetwallfx.emoji.Emojify;
 import org.tweetwallfx.emoji.Twemoji;
@@ -91,7 +91,7 @@ public class EmojiFlow extends TextFlow {
         imageView.setFitWidth(emojiFitWidthProperty.get());
         imageView.setFitHeight(emojiFitHeightProperty.get());
 
-        imageView.setImage(new Image(EmojiImageCache.INSTANCE.get(emoji.hex()).getInputStream()));
+        imageView.setImage(ImageCache.getInstance().getImage(EmojiImageCache.INSTANCE.get(emoji.hex())));
         return imageView;
     }
 }
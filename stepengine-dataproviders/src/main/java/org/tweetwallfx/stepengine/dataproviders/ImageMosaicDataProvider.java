@@ -35,7 +35,9 @@ import java.util.concurrent.CopyOnWriteArrayList;
 import javafx.scene.image.Image;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.tweetwallfx.cache.LoadPriority;
 import org.tweetwallfx.cache.URLContent;
+import org.tweetwallfx.cache.fx.ImageCache;
 import org.tweetwallfx.stepengine.api.DataProvider;
 import org.tweetwallfx.stepengine.api.config.StepEngineSettings;
 import org.tweetwallfx.tweet.api.Tweet;
@@ -55,11 +57,15 @@ public class ImageMosaicDataProvider implements DataProvider.HistoryAware, DataP
 
     @Override
     public void processNewTweet(final Tweet tweet) {
-        processHistoryTweet(tweet);
+        processTweet(tweet, LoadPriority.NEXT);
     }
 
     @Override
     public void processHistoryTweet(final Tweet tweet) {
+        processTweet(tweet, LoadPriority.PREFETCH);
+    }
+
+    private void processTweet(final Tweet tweet, final LoadPriority priority) {
         LOG.info("new Tweet received: {}", tweet.getId());
         if (null == tweet.getMediaEntries()
                 || (tweet.isRetweet() && !config.includeRetweets())) {
@@ -68,16 +74,17 @@ public class ImageMosaicDataProvider implements DataProvider.HistoryAware, DataP
         LOG.debug("processing new Tweet: {}", tweet.getId());
         Arrays.stream(tweet.getMediaEntries())
                 .filter(MediaTweetEntryType.photo::isType)
-                .forEach(mte -> addImage(mte, tweet.getCreatedAt()));
+                .forEach(mte -> addImage(mte, tweet.getCreatedAt(), priority));
     }
 
     public List<ImageStore> getImages() {
         return Collections.<ImageStore>unmodifiableList(images);
     }
 
-    private void addImage(final MediaTweetEntry mte, final Date date) {
-        PhotoImageCache.INSTANCE.getCachedOrLoad(mte, urlc -> {
-            if (images.addIfAbsent(new ImageStore(urlc, date.toInstant()))) {
+    private void addImage(final MediaTweetEntry mte, final Date date, final LoadPriority priority) {
+        PhotoImageCache.INSTANCE.getCachedOrLoad(mte, priority, urlc -> {
+            final Image image = ImageCache.getInstance().getImage(urlc, config.maxImageWidth(), config.maxImageHeight(), true, true);
+            if (images.addIfAbsent(new ImageStore(urlc, image, date.toInstant()))) {
                 LOG.info("Added ImageStore for mediaID: {}", mte.getId());
             }
             if (config.maxCacheSize() < images.size()) {
@@ -102,14 +109,20 @@ public class ImageMosaicDataProvider implements DataProvider.HistoryAware, DataP
 
     private static record Config(
             Boolean includeRetweets,
-            Integer maxCacheSize) {
+            Integer maxCacheSize,
+            Integer maxImageWidth,
+            Integer maxImageHeight) {
 
         @SuppressWarnings("unused")
         public Config(
                 final Boolean includeRetweets,
-                final Integer maxCacheSize) {
+                final Integer maxCacheSize,
+                final Integer maxImageWidth,
+                final Integer maxImageHeight) {
             this.includeRetweets = valueOrDefault(includeRetweets, false);
             this.maxCacheSize = valueOrDefault(maxCacheSize, 40);
+            this.maxImageWidth = valueOrDefault(maxImageWidth, 0);
+            this.maxImageHeight = valueOrDefault(maxImageHeight, 0);
         }
     }
 
@@ -120,8 +133,12 @@ public class ImageMosaicDataProvider implements DataProvider.HistoryAware, DataP
         private final Instant instant;
 
         public ImageStore(final URLContent urlc, final Instant instant) {
+            this(urlc, new Image(urlc.getInputStream()), instant);
+        }
+
+        public ImageStore(final URLContent urlc, final Image image, final Instant instant) {
             this.digest = urlc.digest();
-            this.image = new Image(urlc.getInputStream());
+            this.image = image;
             this.instant = instant;
         }
 
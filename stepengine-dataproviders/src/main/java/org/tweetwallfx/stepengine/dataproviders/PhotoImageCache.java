@@ -31,6 +31,7 @@ import java.util.function.Consumer;
 import java.util.function.Function;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.tweetwallfx.cache.LoadPriority;
 import org.tweetwallfx.cache.URLContent;
 import org.tweetwallfx.cache.URLContentCacheBase;
 import org.tweetwallfx.tweet.api.Tweet;
@@ -58,7 +59,7 @@ public final class PhotoImageCache extends URLContentCacheBase {
     /**
      * Cache instance.
      */
-    public static final PhotoImageCache INSTANCE = new PhotoImageCache();
+    public static final PhotoImageCache INSTANCE = start(new PhotoImageCache());
 
     private PhotoImageCache() {
         super("photoImage");
@@ -80,6 +81,13 @@ public final class PhotoImageCache extends URLContentCacheBase {
                 consumer);
     }
 
+    public void getCachedOrLoad(final MediaTweetEntry mte, final LoadPriority priority, final Consumer<URLContent> consumer) {
+        getCachedOrLoad(
+                getImageUrlString(mte),
+                priority,
+                consumer);
+    }
+
     private String getImageUrlString(final MediaTweetEntry mte) {
         final String urlString = mte.getSizes().keySet().stream()
                 .max(Comparator.naturalOrder())
@@ -27,6 +27,7 @@ import java.util.Arrays;
 import javafx.scene.image.Image;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.tweetwallfx.cache.fx.ImageCache;
 import org.tweetwallfx.stepengine.api.DataProvider;
 import org.tweetwallfx.stepengine.api.config.StepEngineSettings;
 import org.tweetwallfx.tweet.api.Tweet;
@@ -44,9 +45,12 @@ public class PhotoImageMediaEntryDataProvider implements DataProvider.HistoryAwa
     }
 
     public Image getImage(final MediaTweetEntry mte) {
-        return new Image(PhotoImageCache.INSTANCE
-                .getCached(mte)
-                .getInputStream());
+        return ImageCache.getInstance().getImage(
+                PhotoImageCache.INSTANCE.getCached(mte),
+                config.maxImageWidth(),
+                config.maxImageHeight(),
+                true,
+                true);
     }
 
     @Override
@@ -85,12 +89,18 @@ public class PhotoImageMediaEntryDataProvider implements DataProvider.HistoryAwa
     }
 
     private static record Config(
-            Boolean includeRetweets) {
+            Boolean includeRetweets,
+            Integer maxImageWidth,
+            Integer maxImageHeight) {
 
         @SuppressWarnings("unused")
         public Config(
-                final Boolean includeRetweets) {
+                final Boolean includeRetweets,
+                final Integer maxImageWidth,
+                final Integer maxImageHeight) {
             this.includeRetweets = valueOrDefault(includeRetweets, false);
+            this.maxImageWidth = valueOrDefault(maxImageWidth, 0);
+            this.maxImageHeight = valueOrDefault(maxImageHeight, 0);
         }
     }
 }
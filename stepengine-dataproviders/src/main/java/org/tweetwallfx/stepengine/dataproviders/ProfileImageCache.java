@@ -33,7 +33,7 @@ public final class ProfileImageCache extends URLContentCacheBase {
     /**
      * Cache instance.
      */
-    public static final ProfileImageCache INSTANCE = new ProfileImageCache();
+    public static final ProfileImageCache INSTANCE = start(new ProfileImageCache());
 
     private ProfileImageCache() {
         super("profileImage");
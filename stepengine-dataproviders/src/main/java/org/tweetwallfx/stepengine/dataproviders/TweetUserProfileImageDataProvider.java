@@ -26,7 +26,9 @@ package org.tweetwallfx.stepengine.dataproviders;
 import javafx.scene.image.Image;
 import org.apache.logging.log4j.LogManager;
 import org.apache.logging.log4j.Logger;
+import org.tweetwallfx.cache.LoadPriority;
 import org.tweetwallfx.cache.URLContent;
+import org.tweetwallfx.cache.fx.ImageCache;
 import org.tweetwallfx.stepengine.api.DataProvider;
 import org.tweetwallfx.stepengine.api.config.StepEngineSettings;
 import org.tweetwallfx.tweet.api.Tweet;
@@ -43,8 +45,8 @@ public class TweetUserProfileImageDataProvider implements DataProvider.HistoryAw
     }
 
     public Image getImage(final User user) {
-        return new Image(
-                ProfileImageCache.INSTANCE.getCachedOrLoad(user.getProfileImageUrl()).getInputStream(),
+        return ImageCache.getInstance().getImage(
+                ProfileImageCache.INSTANCE.getCachedOrLoad(user.getProfileImageUrl()),
                 config.profileWidth(),
                 config.profileHeight(),
                 config.preserveRation(),
@@ -52,8 +54,8 @@ public class TweetUserProfileImageDataProvider implements DataProvider.HistoryAw
     }
 
     public Image getImageBig(final User user) {
-        return new Image(
-                ProfileImageCache.INSTANCE.getCachedOrLoad(user.getBiggerProfileImageUrl()).getInputStream(),
+        return ImageCache.getInstance().getImage(
+                ProfileImageCache.INSTANCE.getCachedOrLoad(user.getBiggerProfileImageUrl()),
                 config.profileWidth(),
                 config.profileHeight(),
                 config.preserveRation(),
@@ -62,32 +64,32 @@ public class TweetUserProfileImageDataProvider implements DataProvider.HistoryAw
 
     @Override
     public void processHistoryTweet(final Tweet tweet) {
-        processTweet(tweet);
+        processTweet(tweet, LoadPriority.PREFETCH);
     }
 
     @Override
     public void processNewTweet(final Tweet tweet) {
-        processTweet(tweet);
+        processTweet(tweet, LoadPriority.NEXT);
     }
 
-    private void processTweet(final Tweet tweet) {
+    private void processTweet(final Tweet tweet, final LoadPriority priority) {
         LOG.info("new Tweet received: {}", tweet.getId());
-        processTweetImpl(tweet);
+        processTweetImpl(tweet, priority);
     }
 
-    private void processTweetImpl(final Tweet tweet) {
-        processUser(tweet.getUser());
+    private void processTweetImpl(final Tweet tweet, final LoadPriority priority) {
+        processUser(tweet.getUser(), priority);
 
         final Tweet retweet = tweet.getRetweetedTweet();
 
         if (null != retweet) {
-            processTweetImpl(retweet);
+            processTweetImpl(retweet, priority);
         }
     }
 
-    private void processUser(final User user) {
-        ProfileImageCache.INSTANCE.getCachedOrLoad(user.getProfileImageUrl(), this::handleLoadedContent);
-        ProfileImageCache.INSTANCE.getCachedOrLoad(user.getBiggerProfileImageUrl(), this::handleLoadedContent);
+    private void processUser(final User user, final LoadPriority priority) {
+        ProfileImageCache.INSTANCE.getCachedOrLoad(user.getProfileImageUrl(), priority, this::handleLoadedContent);
+        ProfileImageCache.INSTANCE.getCachedOrLoad(user.getBiggerProfileImageUrl(), priority, this::handleLoadedContent);
     }
 
     private void handleLoadedContent(final URLContent cache) {